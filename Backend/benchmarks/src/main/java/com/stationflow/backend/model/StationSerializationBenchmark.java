@@ -0,0 +1,70 @@
+package com.stationflow.backend.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the full station list, i.e. the body of GET /api/stations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StationSerializationBenchmark {
+
+    @Param({ "1000", "20000" })
+    public int stations;
+
+    // Configured like the application's ObjectMapper
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private List<Station> list;
+
+    @Setup
+    public void generate() {
+        Random random = new Random(42);
+        TransportType[] types = TransportType.values();
+        list = new ArrayList<>(stations);
+        for (int i = 0; i < stations; i++) {
+            Station station = new Station();
+            station.setId(UUID.randomUUID().toString());
+            station.setName("Durak " + i);
+            station.setType(types[i % types.length]);
+            station.setLocation(new Location(40.8 + random.nextDouble() * 0.5, 28.5 + random.nextDouble()));
+            station.setCapacity(100);
+            station.setAvailable(random.nextInt(101));
+            station.setStatus(StationStatus.forAvailability(station.getType(), station.getAvailable()));
+            station.setLastUpdate(LocalDateTime.now());
+            station.setOwnerId("system");
+            list.add(station);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeStationList() throws Exception {
+        return mapper.writeValueAsBytes(list);
+    }
+}
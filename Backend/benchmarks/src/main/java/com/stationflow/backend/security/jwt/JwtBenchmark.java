@@ -0,0 +1,60 @@
+package com.stationflow.backend.security.jwt;
+
+import com.stationflow.backend.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT verification cost per request without the VerifiedTokenCache: the two-parse
+ * validate + username path and the single parse the request filter does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private final JwtUtils jwtUtils = new JwtUtils();
+    private String token;
+
+    @Setup
+    public void createToken() {
+        // Same defaults as the @Value annotations on JwtUtils
+        set("jwtSecret", "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        set("jwtExpirationMs", 86_400_000);
+        jwtUtils.init();
+        token = jwtUtils.generateJwtToken(new UserDetailsImpl("0b7c6d1e-5f6a-4b8c-9d0e-1f2a3b4c5d6e", "benchmark",
+                "benchmark@stationflow.local", null, List.of(new SimpleGrantedAuthority("ROLE_USER")), 0));
+    }
+
+    @Benchmark
+    public String validateAndGetUsername() {
+        return jwtUtils.validateJwtToken(token) ? jwtUtils.getUserNameFromJwtToken(token) : null;
+    }
+
+    @Benchmark
+    public UserDetailsImpl parseClaimsToPrincipal() {
+        return jwtUtils.principalFromClaims(jwtUtils.parseClaims(token));
+    }
+
+    private void set(String field, Object value) {
+        java.lang.reflect.Field target = ReflectionUtils.findField(JwtUtils.class, field);
+        ReflectionUtils.makeAccessible(target);
+        ReflectionUtils.setField(target, jwtUtils, value);
+    }
+}
@@ -0,0 +1,61 @@
+package com.stationflow.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stationflow.backend.model.TransportType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GeoJsonImportService.parseFeature over the bundled minibus.geojson (no database writes).
+ * The file is read from -Dbenchmark.geojson, relative to Backend/benchmarks by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoJsonParseBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final GeoJsonImportService service = new GeoJsonImportService();
+
+    private byte[] file;
+    private JsonNode features;
+
+    @Setup
+    public void load() throws IOException {
+        file = Files.readAllBytes(Path.of(System.getProperty("benchmark.geojson", "../minibus.geojson")));
+        features = mapper.readTree(file).path("features");
+    }
+
+    @Benchmark
+    public void parseFeatures(Blackhole blackhole) {
+        for (JsonNode feature : features) {
+            blackhole.consume(service.parseFeature(feature, TransportType.MINIBUS));
+        }
+    }
+
+    // Includes reading the whole document into a tree, as importStations does
+    @Benchmark
+    public void readAndParseFeatures(Blackhole blackhole) throws IOException {
+        for (JsonNode feature : mapper.readTree(file).path("features")) {
+            blackhole.consume(service.parseFeature(feature, TransportType.MINIBUS));
+        }
+    }
+}
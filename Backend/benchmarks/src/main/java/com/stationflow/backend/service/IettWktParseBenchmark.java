@@ -0,0 +1,48 @@
+package com.stationflow.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IettApiService.parseWktPoint over IETT-style "POINT (lng lat)" values (~15k stops per sync).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IettWktParseBenchmark {
+
+    private static final int POINTS = 15_000;
+
+    private String[] points;
+
+    @Setup
+    public void generate() {
+        Random random = new Random(42);
+        points = new String[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            points[i] = "POINT (" + (28.5 + random.nextDouble()) + " " + (40.8 + random.nextDouble() * 0.5) + ")";
+        }
+    }
+
+    @Benchmark
+    public void parsePoints(Blackhole blackhole) {
+        for (String point : points) {
+            blackhole.consume(IettApiService.parseWktPoint(point));
+        }
+    }
+}
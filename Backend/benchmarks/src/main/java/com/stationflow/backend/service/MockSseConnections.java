@@ -0,0 +1,83 @@
+package com.stationflow.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Connects SSE emitters to mock servlet responses through Spring MVC's own return value
+ * handler, the path an emitter returned by a controller takes. Events are serialized by the
+ * message converters as in the app, written to a stream that drops the bytes, and every
+ * flushed event is reported to the listener.
+ */
+final class MockSseConnections {
+
+    private final ResponseBodyEmitterReturnValueHandler handler;
+    private final MethodParameter returnType;
+
+    MockSseConnections(ObjectMapper mapper) throws NoSuchMethodException {
+        this.handler = new ResponseBodyEmitterReturnValueHandler(
+                List.of(new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter(mapper)));
+        this.returnType = new MethodParameter(NotificationService.class.getMethod("subscribe"), -1);
+    }
+
+    void connect(SseEmitter emitter, Runnable onEvent) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notifications/subscribe");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new DiscardingResponse(onEvent);
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        handler.handleReturnValue(emitter, returnType, new ModelAndViewContainer(), new ServletWebRequest(request, response));
+    }
+
+    // SseEmitter flushes the response once per event (after the headers on connect)
+    private static final class DiscardingResponse extends MockHttpServletResponse {
+
+        private final Runnable onEvent;
+        private final ServletOutputStream body = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+
+        DiscardingResponse(Runnable onEvent) {
+            this.onEvent = onEvent;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return body;
+        }
+
+        @Override
+        public void flushBuffer() {
+            setCommitted(true);
+            onEvent.run();
+        }
+    }
+}
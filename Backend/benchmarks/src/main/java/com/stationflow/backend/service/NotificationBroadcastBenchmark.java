@@ -0,0 +1,102 @@
+package com.stationflow.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stationflow.backend.model.Location;
+import com.stationflow.backend.model.Station;
+import com.stationflow.backend.model.StationStatus;
+import com.stationflow.backend.model.TransportType;
+import com.stationflow.backend.websocket.StationDeltaWebSocketHandler;
+import com.stationflow.backend.websocket.StationIndexRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ReflectionUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One station change pushed through NotificationService to N SSE subscribers (diff mode),
+ * measured until every emitter has written the event. Emitters are connected to mock
+ * responses through Spring MVC (MockSseConnections) and serialize as in the app.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationBroadcastBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int emitters;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final AtomicReference<CountDownLatch> delivered = new AtomicReference<>();
+
+    private NotificationService service;
+    private Station station;
+    private int available;
+
+    @Setup
+    public void subscribe() throws Exception {
+        service = new NotificationService();
+        // No WebSocket sessions, so broadcast() only indexes the station (once) and returns
+        StationDeltaWebSocketHandler deltaHandler = new StationDeltaWebSocketHandler();
+        set(deltaHandler, "indexRegistry", new StationIndexRegistry());
+        set(service, "deltaWebSocketHandler", deltaHandler);
+        set(service, "meterRegistry", new SimpleMeterRegistry());
+        service.startDispatcher();
+
+        MockSseConnections connections = new MockSseConnections(mapper);
+        for (int i = 0; i < emitters; i++) {
+            // Null while connecting: the headers and the "connected" comment are not measured
+            connections.connect(service.subscribe(), () -> {
+                CountDownLatch latch = delivered.get();
+                if (latch != null) {
+                    latch.countDown();
+                }
+            });
+        }
+        station = new Station("benchmark-station", "Benchmark", TransportType.BUS, new Location(41.0, 29.0),
+                100, 50, StationStatus.ACTIVE, LocalDateTime.now(), false, "system");
+    }
+
+    @TearDown
+    public void stop() {
+        service.stopDispatcher();
+    }
+
+    @Benchmark
+    public void broadcastStationChange() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(emitters);
+        delivered.set(latch);
+        // A changed value and a newer version every time, otherwise nothing is sent
+        station.setAvailable(available++ % 100);
+        station.setVersion(station.getVersion() + 1);
+        service.sendStationUpdate(station);
+        latch.await();
+    }
+
+    private static void set(Object bean, String field, Object value) {
+        java.lang.reflect.Field target = ReflectionUtils.findField(bean.getClass(), field);
+        ReflectionUtils.makeAccessible(target);
+        ReflectionUtils.setField(target, bean, value);
+    }
+}
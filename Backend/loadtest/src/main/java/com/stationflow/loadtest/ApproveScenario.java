@@ -0,0 +1,117 @@
+package com.stationflow.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Report-then-approve: test users report availability for random stations while one
+ * admin drains the pending queue and approves every request.
+ *
+ * End-to-end latency is report creation (createdAt) to approval, so the generator must
+ * run on the same host as the backend. With the crowd report aggregator enabled reports
+ * only reach the queue as outliers, so run this with stationflow.aggregator.enabled=false.
+ */
+class ApproveScenario implements Scenario {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Override
+    public String name() {
+        return "report -> approve";
+    }
+
+    @Override
+    public List<LatencyStats> run(ApiClient client, String adminToken, LoadTest.Options options) throws Exception {
+        if (adminToken == null) {
+            throw new IllegalStateException("The approve scenario needs the admin credentials");
+        }
+        List<JsonNode> stations = new ArrayList<>();
+        client.get("/api/stations", null).json().forEach(stations::add);
+        if (stations.isEmpty()) {
+            throw new IllegalStateException("No stations to report on (the loadtest profile imports them from the IETT stub)");
+        }
+        List<TestUsers.Account> accounts = TestUsers.create(client, options.users());
+
+        LatencyStats reports = new LatencyStats("POST request-update");
+        LatencyStats polls = new LatencyStats("GET requests (admin)");
+        LatencyStats approvals = new LatencyStats("POST approve (admin)");
+        LatencyStats endToEnd = new LatencyStats("report to approved");
+
+        long deadline = options.deadlineNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (TestUsers.Account account : accounts) {
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        JsonNode station = stations.get(random.nextInt(stations.size()));
+                        int available = random.nextInt(station.path("capacity").asInt() + 1);
+                        long start = System.nanoTime();
+                        try {
+                            reports.record(start, client.post("/api/stations/" + station.path("id").asText() + "/request-update",
+                                    account.token(), Map.of("available", available)).status());
+                        } catch (Exception e) {
+                            reports.error(e);
+                        }
+                    }
+                });
+            }
+
+            // The admin keeps going until the queue is empty after the reporters stop, for at most another run length
+            long drainDeadline = deadline + (deadline - System.nanoTime());
+            executor.submit(() -> {
+                boolean drained = false;
+                while (System.nanoTime() < deadline || (!drained && System.nanoTime() < drainDeadline)) {
+                    long start = System.nanoTime();
+                    JsonNode items;
+                    try {
+                        ApiClient.Response page = client.get("/api/stations/requests?size=" + PAGE_SIZE, adminToken);
+                        polls.record(start, page.status());
+                        items = page.ok() ? page.json().path("items") : null;
+                    } catch (Exception e) {
+                        polls.error(e);
+                        items = null;
+                    }
+                    drained = items != null && items.isEmpty() && System.nanoTime() >= deadline;
+                    if (items == null || items.isEmpty()) {
+                        sleep(drained ? 0 : 100);
+                        continue;
+                    }
+                    for (JsonNode item : items) {
+                        approve(client, adminToken, item, approvals, endToEnd);
+                    }
+                }
+            });
+        }
+        return List.of(reports, polls, approvals, endToEnd);
+    }
+
+    private static void approve(ApiClient client, String adminToken, JsonNode item, LatencyStats approvals, LatencyStats endToEnd) {
+        long start = System.nanoTime();
+        try {
+            ApiClient.Response response = client.post("/api/stations/requests/" + item.path("id").asText() + "/approve", adminToken, Map.of());
+            approvals.record(start, response.status());
+            if (response.ok()) {
+                LocalDateTime createdAt = LocalDateTime.parse(item.path("createdAt").asText());
+                endToEnd.recordMicros(Duration.between(createdAt, LocalDateTime.now()).toNanos() / 1000, "approved");
+            }
+        } catch (Exception e) {
+            approvals.error(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
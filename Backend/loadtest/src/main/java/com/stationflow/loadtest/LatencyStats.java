@@ -0,0 +1,73 @@
+package com.stationflow.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds, up to one minute) plus outcome counts for one operation.
+ */
+class LatencyStats {
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(60_000_000L, 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    LatencyStats(String name) {
+        this.name = name;
+    }
+
+    void record(long startNanos, int status) {
+        recordMicros((System.nanoTime() - startNanos) / 1000, String.valueOf(status));
+        if (status >= 400) {
+            failures.increment();
+        }
+    }
+
+    void recordMicros(long micros, String outcome) {
+        histogram.recordValue(Math.min(Math.max(micros, 0), histogram.getHighestTrackableValue()));
+        outcomes.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+    }
+
+    // Failed before a response arrived; counted but not part of the latency distribution
+    void error(Exception e) {
+        outcomes.computeIfAbsent(e.getClass().getSimpleName(), o -> new LongAdder()).increment();
+        failures.increment();
+    }
+
+    long count() {
+        return histogram.getTotalCount();
+    }
+
+    void print(double seconds) {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        long total = histogram.getTotalCount();
+        System.out.printf("%-24s %8d ops  %9.1f ops/s  outcomes %s%n", name, total, total / seconds, counts);
+        if (total > 0) {
+            System.out.printf("%-24s p50 %s  p90 %s  p99 %s  p99.9 %s  max %s%n", "",
+                    ms(histogram.getValueAtPercentile(50)), ms(histogram.getValueAtPercentile(90)),
+                    ms(histogram.getValueAtPercentile(99)), ms(histogram.getValueAtPercentile(99.9)),
+                    ms(histogram.getMaxValue()));
+        }
+    }
+
+    // Failures are 4xx/5xx responses plus requests that got no response at all
+    Summary summary(double seconds) {
+        long total = histogram.getTotalCount();
+        return new Summary(name, total, failures.sum(), total / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0);
+    }
+
+    record Summary(String name, long count, long failures, double opsPerSecond, double p50Ms, double p99Ms) {
+    }
+
+    private static String ms(long micros) {
+        return String.format("%.2fms", micros / 1000.0);
+    }
+}
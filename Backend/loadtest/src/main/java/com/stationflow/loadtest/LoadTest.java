@@ -0,0 +1,110 @@
+package com.stationflow.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the load generator. Options are --key=value:
+ *
+ *   --base-url=http://localhost:8080   backend under test
+ *   --scenario=all                     stations | sse | login | approve | all (comma separated)
+ *   --users=50                         concurrent virtual users (map loads, logins, reporters)
+ *   --duration=30                      seconds each scenario runs at full load
+ *   --connections=10000                SSE subscribers
+ *   --ramp=20                          seconds to open the SSE subscribers over
+ *   --admin-username / --admin-password  admin used for metrics, approvals and SSE probes
+ *   --compare-jar=../target/backend-0.0.1-SNAPSHOT-exec.jar
+ *                                      platform vs virtual request threads, see ThreadModeComparison
+ *
+ * Every request runs on its own virtual thread, so the client side is not the bottleneck.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        if (options.compareJar() != null) {
+            new ThreadModeComparison(options).run();
+        } else {
+            run(options);
+        }
+    }
+
+    /**
+     * Runs the selected scenarios against the backend at --base-url, printing each report as it finishes.
+     */
+    static List<ScenarioResult> run(Options options) throws Exception {
+        ApiClient client = new ApiClient(options.baseUrl());
+
+        String adminToken = client.login(options.adminUsername(), options.adminPassword());
+        if (adminToken == null) {
+            System.err.println("Admin login failed for " + options.adminUsername() + ", server-side metrics and approvals are unavailable");
+        }
+
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String name : options.scenarios()) {
+            switch (name) {
+                case "stations" -> scenarios.add(new StationsScenario());
+                case "sse" -> scenarios.add(new SseScenario());
+                case "login" -> scenarios.add(new LoginScenario());
+                case "approve" -> scenarios.add(new ApproveScenario());
+                default -> throw new IllegalArgumentException("Unknown scenario: " + name);
+            }
+        }
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            System.out.printf("%n=== %s ===%n", scenario.name());
+            ServerMetrics metrics = new ServerMetrics(client, adminToken);
+            metrics.start();
+            long start = System.nanoTime();
+            List<LatencyStats> stats = scenario.run(client, adminToken, options);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            metrics.stop();
+
+            for (LatencyStats operation : stats) {
+                operation.print(seconds);
+            }
+            metrics.print();
+            results.add(new ScenarioResult(scenario.name(), stats.stream().map(operation -> operation.summary(seconds)).toList(), metrics));
+        }
+        return results;
+    }
+
+    record ScenarioResult(String scenario, List<LatencyStats.Summary> operations, ServerMetrics server) {
+    }
+
+    record Options(String baseUrl, List<String> scenarios, int users, int duration, int connections, int ramp,
+                   String adminUsername, String adminPassword, String compareJar) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --key=value, got " + arg);
+                }
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+
+            String scenario = values.getOrDefault("scenario", "all");
+            List<String> scenarios = "all".equals(scenario)
+                    ? List.of("stations", "sse", "login", "approve")
+                    : List.of(scenario.split(","));
+            return new Options(
+                    values.getOrDefault("base-url", "http://localhost:8080"),
+                    scenarios,
+                    Integer.parseInt(values.getOrDefault("users", "50")),
+                    Integer.parseInt(values.getOrDefault("duration", "30")),
+                    Integer.parseInt(values.getOrDefault("connections", "10000")),
+                    Integer.parseInt(values.getOrDefault("ramp", "20")),
+                    values.getOrDefault("admin-username", "adminmemo"),
+                    values.getOrDefault("admin-password", "can123"),
+                    values.get("compare-jar"));
+        }
+
+        long deadlineNanos() {
+            return System.nanoTime() + duration * 1_000_000_000L;
+        }
+    }
+}
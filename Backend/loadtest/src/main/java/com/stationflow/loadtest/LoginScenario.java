@@ -0,0 +1,51 @@
+package com.stationflow.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Login bursts: all test users sign in at the same instant, the next burst starts
+ * once the slowest one has returned. BCrypt makes this CPU-bound on the server.
+ */
+class LoginScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "login bursts (POST /api/auth/signin)";
+    }
+
+    @Override
+    public List<LatencyStats> run(ApiClient client, String adminToken, LoadTest.Options options) throws Exception {
+        List<TestUsers.Account> accounts = TestUsers.create(client, options.users());
+        LatencyStats stats = new LatencyStats("POST /api/auth/signin");
+        LatencyStats bursts = new LatencyStats("whole burst");
+
+        long deadline = options.deadlineNanos();
+        while (System.nanoTime() < deadline) {
+            CountDownLatch go = new CountDownLatch(1);
+            long burstStart;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (TestUsers.Account account : accounts) {
+                    executor.submit(() -> {
+                        go.await();
+                        long start = System.nanoTime();
+                        try {
+                            stats.record(start, client.post("/api/auth/signin", null,
+                                    Map.of("username", account.username(), "password", TestUsers.PASSWORD)).status());
+                        } catch (Exception e) {
+                            stats.error(e);
+                        }
+                        return null;
+                    });
+                }
+                burstStart = System.nanoTime();
+                go.countDown();
+            }
+            bursts.recordMicros((System.nanoTime() - burstStart) / 1000, "done");
+        }
+        return List.of(stats, bursts);
+    }
+}
@@ -0,0 +1,13 @@
+package com.stationflow.loadtest;
+
+import java.util.List;
+
+interface Scenario {
+
+    String name();
+
+    /**
+     * Runs the scenario to completion and returns one set of stats per measured operation.
+     */
+    List<LatencyStats> run(ApiClient client, String adminToken, LoadTest.Options options) throws Exception;
+}
@@ -0,0 +1,129 @@
+package com.stationflow.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples the backend's own actuator metrics once a second while a scenario runs.
+ * Needs an admin token (the actuator endpoints are ADMIN-only).
+ */
+class ServerMetrics {
+
+    // Label -> actuator metric path
+    private static final Map<String, String> GAUGES = new LinkedHashMap<>();
+
+    static {
+        GAUGES.put("cpu (process)", "process.cpu.usage");
+        GAUGES.put("heap used MB", "jvm.memory.used?tag=area:heap");
+        GAUGES.put("live threads", "jvm.threads.live");
+        GAUGES.put("db connections active", "hikaricp.connections.active");
+        GAUGES.put("db connections pending", "hikaricp.connections.pending");
+        GAUGES.put("sse emitters", "stationflow.sse.emitters");
+    }
+
+    private final ApiClient client;
+    private final String adminToken;
+    private final Map<String, List<Double>> samples = new LinkedHashMap<>();
+    private double gcPauseStart = Double.NaN;
+    private double gcPauseEnd = Double.NaN;
+    private volatile boolean running;
+    private Thread sampler;
+
+    ServerMetrics(ApiClient client, String adminToken) {
+        this.client = client;
+        this.adminToken = adminToken;
+        GAUGES.keySet().forEach(label -> samples.put(label, new ArrayList<>()));
+    }
+
+    void start() {
+        if (adminToken == null) {
+            return;
+        }
+        gcPauseStart = gcPauseSeconds();
+        running = true;
+        sampler = Thread.ofVirtual().name("server-metrics").start(() -> {
+            while (running) {
+                GAUGES.forEach((label, path) -> {
+                    double value = value(path, "VALUE");
+                    if (!Double.isNaN(value)) {
+                        synchronized (samples) {
+                            samples.get(label).add(label.endsWith("MB") ? value / (1024 * 1024) : value);
+                        }
+                    }
+                });
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    void stop() throws InterruptedException {
+        if (sampler == null) {
+            return;
+        }
+        running = false;
+        sampler.interrupt();
+        sampler.join();
+        gcPauseEnd = gcPauseSeconds();
+    }
+
+    void print() {
+        if (adminToken == null) {
+            System.out.println("server metrics: skipped (no admin token)");
+            return;
+        }
+        for (String label : GAUGES.keySet()) {
+            if (Double.isNaN(max(label))) {
+                System.out.printf("server %-24s n/a%n", label);
+            } else {
+                System.out.printf("server %-24s avg %10.2f  max %10.2f%n", label, average(label), max(label));
+            }
+        }
+        if (!Double.isNaN(gcPauseStart) && !Double.isNaN(gcPauseEnd)) {
+            System.out.printf("server %-24s %10.1f ms total%n", "gc pause", (gcPauseEnd - gcPauseStart) * 1000);
+        }
+    }
+
+    // NaN when there were no samples for the gauge
+    double average(String label) {
+        synchronized (samples) {
+            return samples.get(label).stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
+        }
+    }
+
+    double max(String label) {
+        synchronized (samples) {
+            return samples.get(label).stream().mapToDouble(Double::doubleValue).max().orElse(Double.NaN);
+        }
+    }
+
+    private double gcPauseSeconds() {
+        double total = value("jvm.gc.pause", "TOTAL_TIME");
+        return Double.isNaN(total) ? 0 : total; // No collection yet means no meter yet
+    }
+
+    // NaN when the metric does not exist (e.g. no Hikari pool yet) or the request failed
+    private double value(String path, String statistic) {
+        try {
+            ApiClient.Response response = client.get("/actuator/metrics/" + path, adminToken);
+            if (!response.ok()) {
+                return Double.NaN;
+            }
+            for (JsonNode measurement : response.json().path("measurements")) {
+                if (statistic.equals(measurement.path("statistic").asText())) {
+                    return measurement.path("value").asDouble();
+                }
+            }
+        } catch (Exception e) {
+            // Server busy or gone; skip this sample
+        }
+        return Double.NaN;
+    }
+}
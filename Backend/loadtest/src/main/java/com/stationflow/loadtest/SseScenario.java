@@ -0,0 +1,134 @@
+package com.stationflow.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE fan-out: opens {@code --connections} subscribers over {@code --ramp} seconds and holds
+ * them for {@code --duration} seconds while the admin changes one probe station's availability
+ * every second. Each subscriber times the "station-diff" event carrying that value.
+ *
+ * 10k connections need a file descriptor limit above that on both sides (ulimit -n).
+ */
+class SseScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "SSE subscribers (GET /api/notifications/subscribe)";
+    }
+
+    @Override
+    public List<LatencyStats> run(ApiClient client, String adminToken, LoadTest.Options options) throws Exception {
+        LatencyStats connects = new LatencyStats("subscribe (headers)");
+        LatencyStats deliveries = new LatencyStats("probe update delivery");
+        LatencyStats probes = new LatencyStats("PATCH availability");
+
+        JsonNode probe = client.get("/api/stations", null).json().path(0);
+        String probeId = probe.path("id").asText(null);
+        // Probe value -> time the PATCH was sent
+        Map<Integer, Long> sentAt = new ConcurrentHashMap<>();
+        Queue<InputStream> streams = new ConcurrentLinkedQueue<>();
+        AtomicInteger open = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long rampNanos = options.ramp() * 1_000_000_000L;
+            long rampStart = System.nanoTime();
+            for (int i = 0; i < options.connections(); i++) {
+                long due = rampStart + rampNanos * i / Math.max(1, options.connections());
+                executor.submit(() -> {
+                    sleepUntil(due);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<InputStream> response = client.stream("/api/notifications/subscribe");
+                        connects.record(start, response.statusCode());
+                        streams.add(response.body());
+                        open.incrementAndGet();
+                        read(response.body(), probeId, sentAt, deliveries);
+                    } catch (Exception e) {
+                        connects.error(e);
+                    }
+                });
+            }
+
+            sleepUntil(rampStart + rampNanos);
+            System.out.printf("%d/%d subscribers connected%n", open.get(), options.connections());
+
+            long deadline = options.deadlineNanos();
+            int capacity = Math.max(1, probe.path("capacity").asInt());
+            for (int tick = 0; System.nanoTime() < deadline; tick++) {
+                if (adminToken != null && probeId != null) {
+                    int value = tick % (capacity + 1);
+                    long start = System.nanoTime();
+                    sentAt.put(value, start);
+                    try {
+                        probes.record(start, client.patch("/api/stations/" + probeId + "/availability", adminToken,
+                                Map.of("available", value)).status());
+                    } catch (Exception e) {
+                        probes.error(e);
+                    }
+                }
+                Thread.sleep(1000);
+            }
+
+            // Closing the bodies ends the readers, which lets the executor finish
+            streams.forEach(SseScenario::closeQuietly);
+        }
+        return List.of(connects, deliveries, probes);
+    }
+
+    private static void read(InputStream body, String probeId, Map<Integer, Long> sentAt, LatencyStats deliveries) throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String event = null;
+            for (String line; (line = reader.readLine()) != null; ) {
+                if (line.startsWith("event:")) {
+                    event = line.substring(6).trim();
+                } else if (line.startsWith("data:") && "station-diff".equals(event)) {
+                    long received = System.nanoTime();
+                    for (JsonNode diff : ApiClient.MAPPER.readTree(line.substring(5))) {
+                        JsonNode available = diff.path("changes").path("available");
+                        Long sent = available.isInt() && diff.path("id").asText().equals(probeId) ? sentAt.get(available.asInt()) : null;
+                        if (sent != null) {
+                            deliveries.recordMicros((received - sent) / 1000, "delivered");
+                        }
+                    }
+                } else if (line.isEmpty()) {
+                    event = null;
+                }
+            }
+        } catch (java.io.IOException e) {
+            // Stream closed at the end of the run
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            try {
+                Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (Exception ignored) {
+            // Already closed by the server
+        }
+    }
+}
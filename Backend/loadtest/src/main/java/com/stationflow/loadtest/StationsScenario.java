@@ -0,0 +1,37 @@
+package com.stationflow.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Map loads: every virtual user fetches the full station list back to back.
+ */
+class StationsScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "map load (GET /api/stations)";
+    }
+
+    @Override
+    public List<LatencyStats> run(ApiClient client, String adminToken, LoadTest.Options options) {
+        LatencyStats stats = new LatencyStats("GET /api/stations");
+        long deadline = options.deadlineNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.users(); i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            stats.record(start, client.get("/api/stations", null).status());
+                        } catch (Exception e) {
+                            stats.error(e);
+                        }
+                    }
+                });
+            }
+        }
+        return List.of(stats);
+    }
+}
@@ -0,0 +1,60 @@
+package com.stationflow.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Signs up throwaway USER accounts for a run. Names carry a run id so repeated runs
+ * against the same database do not collide.
+ */
+final class TestUsers {
+
+    static final String PASSWORD = "loadtest123";
+
+    private TestUsers() {
+    }
+
+    record Account(String username, String token) {
+    }
+
+    /**
+     * Signs up and logs in {@code count} users in parallel; accounts that fail are left out.
+     */
+    static List<Account> create(ApiClient client, int count) throws InterruptedException {
+        String runId = UUID.randomUUID().toString().substring(0, 6);
+        List<Future<Account>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                String username = "lt" + runId + "_" + i;
+                futures.add(executor.submit(() -> {
+                    ApiClient.Response signup = client.post("/api/auth/signup", null, Map.of(
+                            "username", username,
+                            "email", username + "@loadtest.local",
+                            "password", PASSWORD,
+                            // The reCAPTCHA stub accepts every token but "fail"
+                            "recaptchaToken", "loadtest-" + username));
+                    if (!signup.ok()) {
+                        throw new IllegalStateException("Signup failed (" + signup.status() + "): " + signup.body());
+                    }
+                    return new Account(username, client.login(username, PASSWORD));
+                }));
+            }
+        }
+
+        List<Account> accounts = new ArrayList<>();
+        for (Future<Account> future : futures) {
+            try {
+                accounts.add(future.get());
+            } catch (java.util.concurrent.ExecutionException e) {
+                System.err.println(e.getCause().getMessage());
+            }
+        }
+        System.out.printf("signed up %d/%d test users%n", accounts.size(), count);
+        return accounts;
+    }
+}
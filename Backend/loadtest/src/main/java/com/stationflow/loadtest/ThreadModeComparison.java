@@ -0,0 +1,112 @@
+package com.stationflow.loadtest;
+
+import java.io.File;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * --compare-jar mode: starts the backend jar twice on the --base-url port, first with platform
+ * and then with virtual request threads (spring.threads.virtual.enabled), runs the same
+ * scenarios against each and prints both reports side by side.
+ *
+ * The backend inherits this process's environment, so DB_URL and SPRING_PROFILES_ACTIVE=loadtest
+ * apply to both runs. Its output goes to backend-platform.log / backend-virtual.log. Both runs
+ * share the database; the approve scenario leaves requests behind, so compare on a fresh one
+ * when it matters.
+ */
+class ThreadModeComparison {
+
+    private static final long STARTUP_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(3);
+
+    // Server gauges that show how each mode copes (labels from ServerMetrics)
+    private static final List<String> SERVER_MAX = List.of("live threads", "sse emitters", "db connections pending", "heap used MB");
+
+    private final LoadTest.Options options;
+
+    ThreadModeComparison(LoadTest.Options options) {
+        this.options = options;
+    }
+
+    void run() throws Exception {
+        Map<String, List<LoadTest.ScenarioResult>> results = new LinkedHashMap<>();
+        for (String mode : List.of("platform", "virtual")) {
+            System.out.printf("%n##### %s threads #####%n", mode);
+            Process backend = start(mode);
+            try {
+                awaitReady(backend, mode);
+                results.put(mode, LoadTest.run(options));
+            } finally {
+                stop(backend);
+            }
+        }
+        print(results.get("platform"), results.get("virtual"));
+    }
+
+    private Process start(String mode) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        int port = URI.create(options.baseUrl()).getPort();
+        return new ProcessBuilder(java, "-jar", options.compareJar(),
+                "--server.port=" + (port == -1 ? 80 : port),
+                "--spring.threads.virtual.enabled=" + "virtual".equals(mode))
+                .redirectErrorStream(true)
+                .redirectOutput(new File("backend-" + mode + ".log"))
+                .start();
+    }
+
+    private void awaitReady(Process backend, String mode) throws Exception {
+        ApiClient client = new ApiClient(options.baseUrl());
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT_NANOS;
+        while (System.nanoTime() < deadline) {
+            if (!backend.isAlive()) {
+                throw new IllegalStateException("Backend exited during startup, see backend-" + mode + ".log");
+            }
+            try {
+                if (client.get("/api/stations", null).ok()) {
+                    return;
+                }
+            } catch (Exception e) {
+                // Not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException("Backend did not start within 3 minutes, see backend-" + mode + ".log");
+    }
+
+    private static void stop(Process backend) throws InterruptedException {
+        backend.destroy();
+        if (!backend.waitFor(30, TimeUnit.SECONDS)) {
+            backend.destroyForcibly().waitFor();
+        }
+    }
+
+    private static void print(List<LoadTest.ScenarioResult> platform, List<LoadTest.ScenarioResult> virtual) {
+        String columns = String.format("%9s %9s %9s %7s", "ops/s", "p50 ms", "p99 ms", "failed");
+        System.out.printf("%n##### platform vs virtual threads #####%n");
+        System.out.printf("%-30s | %-36s | %-36s%n", "", "platform", "virtual");
+        System.out.printf("%-30s | %s | %s%n", "", columns, columns);
+        for (int i = 0; i < platform.size(); i++) {
+            LoadTest.ScenarioResult p = platform.get(i);
+            LoadTest.ScenarioResult v = virtual.get(i);
+            System.out.println(p.scenario());
+            for (int j = 0; j < p.operations().size(); j++) {
+                System.out.printf("  %-28s | %s | %s%n", p.operations().get(j).name(),
+                        cell(p.operations().get(j)), cell(v.operations().get(j)));
+            }
+            for (String label : SERVER_MAX) {
+                System.out.printf("  %-28s | %36s | %36s%n", "max " + label,
+                        gauge(p.server().max(label)), gauge(v.server().max(label)));
+            }
+        }
+    }
+
+    private static String cell(LatencyStats.Summary summary) {
+        return String.format("%9.1f %9.2f %9.2f %7d", summary.opsPerSecond(), summary.p50Ms(), summary.p99Ms(), summary.failures());
+    }
+
+    private static String gauge(double value) {
+        return Double.isNaN(value) ? "n/a" : String.format("%.0f", value);
+    }
+}
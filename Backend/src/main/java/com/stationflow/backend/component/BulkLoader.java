@@ -0,0 +1,147 @@
+package com.stationflow.backend.component;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streams rows into one table: COPY FROM STDIN (CSV) on PostgreSQL, batched INSERTs on
+ * anything else (H2). Rows are written as they are produced, so memory stays flat
+ * whatever the row count. Values are String, Number, Boolean, LocalDateTime or null.
+ */
+abstract class BulkLoader implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 5000;
+
+    protected final String table;
+    protected final List<String> columns;
+    private long rows;
+    private boolean closed;
+
+    private BulkLoader(String table, List<String> columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+
+    static BulkLoader open(Connection connection, String table, List<String> columns) throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return new Copy(connection.unwrap(PGConnection.class), table, columns);
+        }
+        return new Batch(connection, table, columns);
+    }
+
+    void add(Object... values) throws SQLException {
+        write(values);
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    protected abstract void write(Object[] values) throws SQLException;
+
+    protected abstract void finish() throws SQLException;
+
+    // Sends what is still buffered; safe to call again from try-with-resources
+    @Override
+    public void close() throws SQLException {
+        if (!closed) {
+            closed = true;
+            finish();
+        }
+    }
+
+    private static final class Copy extends BulkLoader {
+
+        private static final int FLUSH_CHARS = 1 << 16;
+        private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS * 2);
+
+        Copy(PGConnection connection, String table, List<String> columns) throws SQLException {
+            super(table, columns);
+            this.copy = connection.getCopyAPI().copyIn(
+                    "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        protected void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object value = values[i];
+                if (value instanceof String text) {
+                    buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else if (value instanceof LocalDateTime time) {
+                    buffer.append(TIMESTAMP.format(time));
+                } else if (value != null) {
+                    buffer.append(value); // Unquoted empty field is NULL
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= FLUSH_CHARS) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        protected void finish() throws SQLException {
+            flush();
+            copy.endCopy();
+        }
+    }
+
+    private static final class Batch extends BulkLoader {
+
+        private final PreparedStatement statement;
+        private int pending;
+
+        Batch(Connection connection, String table, List<String> columns) throws SQLException {
+            super(table, columns);
+            this.statement = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns) +
+                    ") VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")");
+        }
+
+        @Override
+        protected void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                statement.setObject(i + 1, value instanceof LocalDateTime time ? Timestamp.valueOf(time) : value);
+            }
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        protected void finish() throws SQLException {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
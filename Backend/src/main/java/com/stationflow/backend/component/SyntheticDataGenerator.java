@@ -0,0 +1,470 @@
+package com.stationflow.backend.component;
+
+import com.stationflow.backend.model.Role;
+import com.stationflow.backend.model.StationStatus;
+import com.stationflow.backend.model.StationUpdateRequest.RequestStatus;
+import com.stationflow.backend.model.TransportType;
+import com.stationflow.backend.service.PartitionMaintenanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic city-scale dataset for capacity testing (profile "synthetic").
+ *
+ * Stations are scattered around weighted Istanbul districts, with a spread per transport
+ * type: shared vehicles and taxis cluster in the centre, metro stops follow the lines.
+ * Users, update-request histories and feedback are spread over the history-days before a
+ * fixed epoch, in creation order like the real append-only tables. The same seed, epoch and
+ * counts always give the same rows, ids and password hash included.
+ *
+ * All four tables are loaded in one transaction together with a row in synthetic_dataset,
+ * so a failed load leaves nothing behind and the marker only exists for a complete dataset.
+ * Runs before DataInitializer, so the sample stations are not added on top, and is skipped
+ * when the marker is there.
+ */
+@Component
+@Profile("synthetic")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String USERNAME_PREFIX = "synth_user_";
+
+    private static final String MARKER_TABLE = "synthetic_dataset";
+
+    // Id namespaces, also the per-table random stream offsets
+    private static final long STATIONS = 1, USERS = 2, REQUESTS = 3, FEEDBACK = 4;
+
+    private static final double KM_PER_DEGREE_LAT = 111.0;
+    private static final double KM_PER_DEGREE_LNG = 111.0 * Math.cos(Math.toRadians(41.0));
+
+    // name, lat, lng, weight (roughly population), central (dense shared-vehicle/taxi area)
+    private static final List<District> DISTRICTS = List.of(
+            new District("Esenyurt", 41.0343, 28.6801, 9, false),
+            new District("Küçükçekmece", 41.0000, 28.7800, 8, false),
+            new District("Bağcılar", 41.0390, 28.8560, 7, false),
+            new District("Pendik", 40.8770, 29.2330, 7, false),
+            new District("Ümraniye", 41.0160, 29.1240, 7, false),
+            new District("Bahçelievler", 41.0000, 28.8610, 6, false),
+            new District("Üsküdar", 41.0268, 29.0160, 5, true),
+            new District("Sultangazi", 41.1070, 28.8670, 5, false),
+            new District("Maltepe", 40.9350, 29.1300, 5, false),
+            new District("Gaziosmanpaşa", 41.0630, 28.9120, 5, false),
+            new District("Kadıköy", 40.9905, 29.0292, 5, true),
+            new District("Kartal", 40.8890, 29.1900, 5, false),
+            new District("Esenler", 41.0430, 28.8760, 4, false),
+            new District("Kağıthane", 41.0790, 28.9730, 4, false),
+            new District("Ataşehir", 40.9840, 29.1060, 4, true),
+            new District("Avcılar", 40.9790, 28.7210, 4, false),
+            new District("Fatih", 41.0195, 28.9497, 4, true),
+            new District("Beylikdüzü", 40.9820, 28.6400, 3, false),
+            new District("Zeytinburnu", 40.9940, 28.9040, 3, false),
+            new District("Sarıyer", 41.1670, 29.0500, 3, false),
+            new District("Şişli", 41.0632, 28.9931, 3, true),
+            new District("Beşiktaş", 41.0428, 29.0075, 2, true),
+            new District("Beyoğlu", 41.0370, 28.9770, 2, true),
+            new District("Bakırköy", 40.9801, 28.8724, 2, true));
+
+    // Metro lines as polylines of {lat, lng}
+    private static final double[][][] METRO_LINES = {
+            {{41.0110, 28.9490}, {40.9940, 28.9040}, {40.9801, 28.8724}, {40.9830, 28.8200}},
+            {{41.0050, 28.9520}, {41.0370, 28.9850}, {41.0632, 28.9931}, {41.0766, 29.0135}, {41.1370, 29.0330}},
+            {{40.9905, 29.0292}, {40.9970, 29.0700}, {40.9750, 29.0990}, {40.9350, 29.1300}, {40.8890, 29.1900}, {40.8770, 29.2330}, {40.9060, 29.3090}},
+            {{41.0268, 29.0160}, {41.0220, 29.0450}, {41.0160, 29.1240}, {41.0330, 29.1780}}};
+
+    private static final String[] FEEDBACK_MESSAGES = {
+            "Haritadaki doluluk bilgisi gerçeği yansıtmıyor.",
+            "Uygulama çok faydalı, teşekkürler!",
+            "Bazı duraklar yanlış konumda görünüyor.",
+            "Bildirim gönderdim ama hâlâ onaylanmadı.",
+            "Scooter noktalarının sayısı artırılmalı.",
+            "Sayfa yavaş açılıyor, özellikle akşam saatlerinde.",
+            "Metro istasyonlarının kapasite bilgisi güncel değil.",
+            "Karanlık tema eklenebilir mi?"};
+
+    @Value("${stationflow.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${stationflow.synthetic.stations:100000}")
+    private int stationCount;
+
+    @Value("${stationflow.synthetic.users:20000}")
+    private int userCount;
+
+    // The first few users are admins
+    @Value("${stationflow.synthetic.admins:5}")
+    private int adminCount;
+
+    @Value("${stationflow.synthetic.requests:1000000}")
+    private int requestCount;
+
+    @Value("${stationflow.synthetic.feedback:100000}")
+    private int feedbackCount;
+
+    // Newest timestamp in the dataset; fixed so reruns do not depend on the clock
+    @Value("${stationflow.synthetic.epoch:2026-01-01T00:00:00}")
+    private LocalDateTime epoch;
+
+    @Value("${stationflow.synthetic.history-days:180}")
+    private int historyDays;
+
+    // Requests newer than this are still PENDING
+    @Value("${stationflow.synthetic.pending-hours:48}")
+    private int pendingHours;
+
+    @Value("${stationflow.synthetic.password:synthetic123}")
+    private String password;
+
+    @Value("${stationflow.synthetic.exit-when-done:false}")
+    private boolean exitWhenDone;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    // Per-station/per-user facts the later tables depend on
+    private int[] capacities;
+    private double[] reliability;
+
+    @Override
+    public void run(String... args) throws Exception {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + MARKER_TABLE +
+                " (seed BIGINT NOT NULL, epoch TIMESTAMP(6) NOT NULL, loaded_at TIMESTAMP(6) NOT NULL)");
+        List<Long> loaded = jdbcTemplate.queryForList("SELECT seed FROM " + MARKER_TABLE, Long.class);
+        if (!loaded.isEmpty()) {
+            logger.info("Synthetic dataset (seed {}) already present, skipping generation", loaded.get(0));
+        } else {
+            generate();
+        }
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void generate() throws SQLException, GeneralSecurityException {
+        LocalDateTime end = epoch.truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime start = end.minusDays(historyDays);
+        partitionMaintenanceService.createPartitionsBetween(YearMonth.from(start), YearMonth.from(end));
+
+        long began = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                // Users first: custom stations and requests reference them
+                timed("users", () -> loadUsers(connection, start, end));
+                timed("stations", () -> loadStations(connection, end));
+                timed("station_update_requests", () -> loadRequests(connection, start, end));
+                timed("feedback", () -> loadFeedback(connection, start, end));
+                markLoaded(connection, end);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+
+        if (isPostgres()) {
+            jdbcTemplate.execute("ANALYZE users, stations, station_update_requests, feedback");
+        }
+        logger.info("Synthetic dataset (seed {}) generated in {} s", seed, (System.nanoTime() - began) / 1_000_000_000);
+    }
+
+    private void loadUsers(Connection connection, LocalDateTime start, LocalDateTime end)
+            throws SQLException, GeneralSecurityException {
+        SplittableRandom random = new SplittableRandom(seed + USERS);
+        // One BCrypt hash for everyone; hashing per user would take longer than the whole load.
+        // The salt comes from the seed so the hash is the same on every run.
+        SecureRandom salt = SecureRandom.getInstance("SHA1PRNG");
+        salt.setSeed(seed);
+        String hash = BCrypt.hashpw(password, BCrypt.gensalt(10, salt));
+        // Approval probability of each user's reports, skewed towards reliable reporters
+        reliability = new double[userCount];
+        long span = secondsBetween(start, end);
+
+        try (BulkLoader loader = BulkLoader.open(connection, "users",
+                List.of("id", "username", "email", "password", "role", "token_epoch", "created_at"))) {
+            for (int i = 0; i < userCount; i++) {
+                reliability[i] = 0.3 + 0.7 * Math.sqrt(random.nextDouble());
+                String username = USERNAME_PREFIX + i;
+                // Sign-ups concentrate early in the window
+                LocalDateTime createdAt = start.plusSeconds((long) (span * Math.pow((double) i / userCount, 1.5)));
+                loader.add(id(USERS, i), username, username + "@stationflow.test", hash,
+                        (i < adminCount ? Role.ADMIN : Role.USER).name(), 0, createdAt);
+            }
+            finish(loader);
+        }
+    }
+
+    private void loadStations(Connection connection, LocalDateTime end) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + STATIONS);
+        TransportType[] types = {TransportType.BUS, TransportType.SCOOTER, TransportType.BIKE, TransportType.MINIBUS,
+                TransportType.DOLMUS, TransportType.TAXI, TransportType.METRO};
+        double[] typeWeights = {30, 25, 20, 8, 7, 6, 4};
+        capacities = new int[stationCount];
+
+        try (BulkLoader loader = BulkLoader.open(connection, "stations", List.of("id", "name", "type", "lat", "lng",
+                "capacity", "available", "status", "last_update", "is_custom", "owner_id", "version"))) {
+            for (int i = 0; i < stationCount; i++) {
+                TransportType type = types[weightedIndex(random, typeWeights)];
+                double[] point;
+                String area;
+                if (type == TransportType.METRO) {
+                    point = pointOnMetroLine(random);
+                    area = nearestDistrict(point).name;
+                } else {
+                    boolean central = type == TransportType.SCOOTER || type == TransportType.BIKE || type == TransportType.TAXI;
+                    District district = pickDistrict(random, central);
+                    point = scatter(random, district, spreadKm(type));
+                    area = district.name;
+                }
+
+                int capacity = capacity(type, random);
+                // Shared vehicles are often all taken; seats rarely are
+                int available = type == TransportType.BUS || type == TransportType.METRO || random.nextDouble() > 0.08
+                        ? random.nextInt(capacity + 1) : 0;
+                capacities[i] = capacity;
+
+                boolean custom = userCount > 0 && random.nextDouble() < 0.02;
+                String owner = custom ? id(USERS, random.nextInt(userCount)) : "system";
+                String name = area + " - " + (custom ? "Özel Nokta" : label(type)) + " " + (i + 1);
+
+                loader.add(id(STATIONS, i), name, type.name(), point[0], point[1], capacity, available,
+                        StationStatus.forAvailability(type, available).name(),
+                        end.minusSeconds(random.nextInt(7 * 24 * 3600)), custom, owner, 0);
+            }
+            finish(loader);
+        }
+    }
+
+    private void loadRequests(Connection connection, LocalDateTime start, LocalDateTime end) throws SQLException {
+        if (stationCount == 0 || userCount == 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(seed + REQUESTS);
+        long span = secondsBetween(start, end);
+        LocalDateTime pendingSince = end.minusHours(pendingHours);
+
+        try (BulkLoader loader = BulkLoader.open(connection, "station_update_requests",
+                List.of("id", "station_id", "user_id", "requested_available", "status", "created_at"))) {
+            for (int i = 0; i < requestCount; i++) {
+                // Busy stations and active users get most of the reports
+                int station = skewedIndex(random, stationCount, 2.5);
+                int user = skewedIndex(random, userCount, 2.0);
+                LocalDateTime createdAt = start.plusSeconds(span * i / requestCount + random.nextInt(60));
+
+                RequestStatus status;
+                if (createdAt.isAfter(pendingSince) || random.nextDouble() < 0.005) {
+                    status = RequestStatus.PENDING; // Plus a few the admins never got to
+                } else {
+                    status = random.nextDouble() < reliability[user] ? RequestStatus.APPROVED : RequestStatus.REJECTED;
+                }
+                loader.add(id(REQUESTS, i), id(STATIONS, station), id(USERS, user),
+                        random.nextInt(capacities[station] + 1), status.name(), createdAt);
+            }
+            finish(loader);
+        }
+    }
+
+    private void loadFeedback(Connection connection, LocalDateTime start, LocalDateTime end) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + FEEDBACK);
+        long span = secondsBetween(start, end);
+
+        try (BulkLoader loader = BulkLoader.open(connection, "feedback",
+                List.of("id", "message", "email", "ip_address", "created_at"))) {
+            for (int i = 0; i < feedbackCount; i++) {
+                // About a third is sent without an account
+                String email = userCount > 0 && random.nextDouble() < 0.7
+                        ? USERNAME_PREFIX + random.nextInt(userCount) + "@stationflow.test" : null;
+                String ip = "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(1, 255);
+                loader.add(id(FEEDBACK, i), FEEDBACK_MESSAGES[random.nextInt(FEEDBACK_MESSAGES.length)], email, ip,
+                        start.plusSeconds(span * i / Math.max(1, feedbackCount)));
+            }
+            finish(loader);
+        }
+    }
+
+    private void finish(BulkLoader loader) throws SQLException {
+        loader.close();
+        logger.info("Loaded {} rows into {}", loader.rows(), loader.table);
+    }
+
+    // Same transaction as the rows, so it commits only together with all four tables
+    private void markLoaded(Connection connection, LocalDateTime end) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + MARKER_TABLE + " (seed, epoch, loaded_at) VALUES (?, ?, ?)")) {
+            insert.setLong(1, seed);
+            insert.setTimestamp(2, Timestamp.valueOf(end));
+            insert.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            insert.executeUpdate();
+        }
+    }
+
+    private void timed(String table, Load load) throws SQLException, GeneralSecurityException {
+        long began = System.nanoTime();
+        load.run();
+        logger.info("{} took {} ms", table, (System.nanoTime() - began) / 1_000_000);
+    }
+
+    private interface Load {
+        void run() throws SQLException, GeneralSecurityException;
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isWrapperFor(org.postgresql.PGConnection.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // Stable UUID-shaped id for (namespace, index), so requests can reference stations and users
+    // without keeping every id in memory and reruns with the same seed match
+    private String id(long namespace, long index) {
+        long base = seed * 0x9E3779B97F4A7C15L + (namespace << 48) + index;
+        long high = (mix(base) & ~0xF000L) | 0x4000L;
+        long low = (mix(base ^ 0x5DEECE66DL) & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(high, low).toString();
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int weightedIndex(SplittableRandom random, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double pick = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // Power-law skew towards low indexes
+    private static int skewedIndex(SplittableRandom random, int size, double skew) {
+        return Math.min(size - 1, (int) (size * Math.pow(random.nextDouble(), skew)));
+    }
+
+    private static District pickDistrict(SplittableRandom random, boolean central) {
+        double[] weights = new double[DISTRICTS.size()];
+        for (int i = 0; i < weights.length; i++) {
+            District district = DISTRICTS.get(i);
+            weights[i] = central && !district.central ? district.weight * 0.2 : district.weight;
+        }
+        return DISTRICTS.get(weightedIndex(random, weights));
+    }
+
+    private static double[] scatter(SplittableRandom random, District district, double spreadKm) {
+        return new double[]{
+                district.lat + random.nextGaussian() * spreadKm / KM_PER_DEGREE_LAT,
+                district.lng + random.nextGaussian() * spreadKm / KM_PER_DEGREE_LNG};
+    }
+
+    private static double[] pointOnMetroLine(SplittableRandom random) {
+        double[][] line = METRO_LINES[random.nextInt(METRO_LINES.length)];
+        int segment = random.nextInt(line.length - 1);
+        double t = random.nextDouble();
+        // ~100 m off the track: entrances, not the platform centre line
+        return new double[]{
+                line[segment][0] + (line[segment + 1][0] - line[segment][0]) * t + random.nextGaussian() * 0.1 / KM_PER_DEGREE_LAT,
+                line[segment][1] + (line[segment + 1][1] - line[segment][1]) * t + random.nextGaussian() * 0.1 / KM_PER_DEGREE_LNG};
+    }
+
+    private static District nearestDistrict(double[] point) {
+        District nearest = DISTRICTS.get(0);
+        double best = Double.MAX_VALUE;
+        for (District district : DISTRICTS) {
+            double dLat = (district.lat - point[0]) * KM_PER_DEGREE_LAT;
+            double dLng = (district.lng - point[1]) * KM_PER_DEGREE_LNG;
+            double distance = dLat * dLat + dLng * dLng;
+            if (distance < best) {
+                best = distance;
+                nearest = district;
+            }
+        }
+        return nearest;
+    }
+
+    private static double spreadKm(TransportType type) {
+        switch (type) {
+            case SCOOTER: return 1.0;
+            case BIKE: return 1.2;
+            case TAXI: return 1.5;
+            case MINIBUS:
+            case DOLMUS: return 4.0;
+            default: return 3.0;
+        }
+    }
+
+    // BUS/METRO count seats like DataInitializer; the rest count vehicles
+    private static int capacity(TransportType type, SplittableRandom random) {
+        switch (type) {
+            case BUS:
+            case METRO: return 100;
+            case BIKE: return random.nextInt(10, 31);
+            case SCOOTER: return random.nextInt(5, 21);
+            default: return random.nextInt(2, 11);
+        }
+    }
+
+    private static String label(TransportType type) {
+        switch (type) {
+            case BUS: return "Otobüs Durağı";
+            case METRO: return "Metro Girişi";
+            case BIKE: return "Bisiklet İstasyonu";
+            case SCOOTER: return "Scooter Noktası";
+            case MINIBUS: return "Minibüs Durağı";
+            case DOLMUS: return "Dolmuş Durağı";
+            default: return "Taksi Durağı";
+        }
+    }
+
+    private static long secondsBetween(LocalDateTime start, LocalDateTime end) {
+        return ChronoUnit.SECONDS.between(start, end);
+    }
+
+    private record District(String name, double lat, double lng, double weight, boolean central) {
+    }
+}
@@ -20,6 +20,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private StationRepository stationRepository;
 
+    @Autowired
+    private com.stationflow.backend.service.StationService stationService;
+
     private static final List<SafeZone> SAFE_ZONES = Arrays.asList(
             new SafeZone("Beşiktaş Çarşı", 41.0428, 29.0075),
             new SafeZone("Kadıköy Boğa", 40.9905, 29.0292),
@@ -51,38 +54,10 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private void fixStationStatuses() {
-        List<Station> stations = stationRepository.findAll();
-        boolean changed = false;
-        
-        for (Station station : stations) {
-            StationStatus oldStatus = station.getStatus();
-            StationStatus newStatus = oldStatus;
-            
-            if (station.getType() == TransportType.BUS || station.getType() == TransportType.METRO) {
-                if (station.getAvailable() == 0) {
-                    newStatus = StationStatus.FULL;
-                } else {
-                    newStatus = StationStatus.ACTIVE;
-                }
-            } else {
-                if (station.getAvailable() == 0) {
-                    newStatus = StationStatus.EMPTY;
-                } else {
-                    // Full or partial capacity is ACTIVE (Good for renting)
-                    // Ensure we overwrite any existing 'FULL' status
-                    newStatus = StationStatus.ACTIVE;
-                }
-            }
-            
-            if (oldStatus != newStatus) {
-                station.setStatus(newStatus);
-                stationRepository.save(station);
-                changed = true;
-            }
-        }
-        
-        if (changed) {
-            System.out.println("İstasyon durumları güncellendi.");
+        int updated = stationService.reconcileStationStatuses();
+
+        if (updated > 0) {
+            System.out.println("İstasyon durumları güncellendi (" + updated + " istasyon).");
         } else {
             System.out.println("İstasyon durumları güncel.");
         }
@@ -107,17 +82,7 @@ public class DataInitializer implements CommandLineRunner {
             int capacity = (type == TransportType.BUS || type == TransportType.METRO) ? 100 : (random.nextInt(11) + 5);
             int available = random.nextInt(capacity + 1);
 
-            StationStatus status = StationStatus.ACTIVE;
-            
-            if (type == TransportType.BUS || type == TransportType.METRO) {
-                // For public transport: 0 available means FULL (no seats)
-                if (available == 0) status = StationStatus.FULL;
-            } else {
-                // For shared vehicles: 0 available means EMPTY (no vehicles)
-                if (available == 0) status = StationStatus.EMPTY;
-                // Full capacity is actually GOOD for renting, so keep it ACTIVE
-                else status = StationStatus.ACTIVE;
-            }
+            StationStatus status = StationStatus.forAvailability(type, available);
 
             Station station = new Station();
             station.setName(zone.name + " - " + baseName);
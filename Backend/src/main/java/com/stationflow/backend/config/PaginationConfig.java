@@ -0,0 +1,29 @@
+package com.stationflow.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaginationConfig {
+
+    @Value("${stationflow.pagination.default-size:50}")
+    private int defaultSize;
+
+    @Value("${stationflow.pagination.max-size:200}")
+    private int maxSize;
+
+    // Requested page size clamped to [1, max-size]
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        return Math.max(1, Math.min(requested, maxSize));
+    }
+
+    // Keyset queries fetch one row more than the page to detect a next page
+    public Pageable keysetLimit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.stationflow.backend.config;
+
+import org.flywaydb.core.api.Location;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Adds the PostGIS migrations (geography column, sync trigger, GiST index) when
+ * stationflow.postgis.enabled=true. Requires the postgis extension on the server.
+ */
+@Configuration
+@ConditionalOnProperty(name = "stationflow.postgis.enabled", havingValue = "true")
+public class PostgisConfig {
+
+    public static final String MIGRATIONS = "classpath:db/postgis";
+
+    @Bean
+    public FlywayConfigurationCustomizer postgisMigrations() {
+        return configuration -> configuration.locations(Stream.concat(
+                Arrays.stream(configuration.getLocations()).map(Location::getDescriptor),
+                Stream.of(MIGRATIONS)).toArray(String[]::new));
+    }
+}
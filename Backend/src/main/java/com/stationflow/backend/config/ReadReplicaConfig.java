@@ -0,0 +1,120 @@
+package com.stationflow.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions (@Transactional(readOnly = true), which includes the plain
+ * Spring Data finders) to the read replicas and everything else to the primary.
+ *
+ * The application DataSource is a LazyConnectionDataSourceProxy: a connection is only taken
+ * when the first statement runs, after the transaction has marked it read-only, so the
+ * proxy can pick the replica router for it. Each target has its own Hikari pool, with
+ * hikaricp_* metrics tagged by pool name (primary, replica-1, ...). Replica reads never fill
+ * the second-level cache, see ReadReplicaTransactionManager.
+ *
+ * Hibernate keeps a session's connection until the session closes, so this needs
+ * spring.jpa.open-in-view=false: with a request-wide session the replica connection taken
+ * by the first read would also run every write after it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "stationflow.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    // 0 on a caught-up (or non-standby) server, otherwise time since the last replayed commit
+    public static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    @Value("${stationflow.datasource.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${stationflow.datasource.replicas.username:}")
+    private String replicaUsername;
+
+    @Value("${stationflow.datasource.replicas.password:}")
+    private String replicaPassword;
+
+    @Value("${stationflow.datasource.replicas.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${stationflow.datasource.replicas.max-lag-ms:5000}")
+    private long maxLagMs;
+
+    @Value("${stationflow.datasource.replicas.lag-query:" + POSTGRES_LAG_QUERY + "}")
+    private String lagQuery;
+
+    @Value("${spring.jpa.open-in-view:true}")
+    private boolean openInView;
+
+    @Bean
+    public ReadReplicaRouter readReplicaRouter(DataSourceProperties properties, Environment environment,
+                                               MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername);
+            replica.setPassword(replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            // Start even if a replica is down; it is simply skipped until it answers the lag check
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.add(replica);
+        }
+        return new ReadReplicaRouter(primary, replicas, lagQuery, maxLagMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRouter router) {
+        if (openInView) {
+            throw new IllegalStateException("Read replicas need spring.jpa.open-in-view=false, otherwise writes can run on a replica");
+        }
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(router.getPrimary());
+        dataSource.setReadOnlyDataSource(router);
+        return dataSource;
+    }
+
+    // Replaces Boot's JpaTransactionManager, which backs off when one is defined
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                    ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new ReadReplicaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(c -> c.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+}
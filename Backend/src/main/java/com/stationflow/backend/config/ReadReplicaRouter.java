@@ -0,0 +1,120 @@
+package com.stationflow.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Target for read-only connections: round-robin over the replicas whose last measured lag
+ * is within max-lag-ms, falling back to the primary when none is usable. Lag is measured
+ * on a schedule; a replica that fails the check or refuses a connection is skipped until
+ * the next successful check.
+ */
+public class ReadReplicaRouter extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryFallbacks;
+
+    public ReadReplicaRouter(HikariDataSource primary, List<HikariDataSource> replicaPools, String lagQuery,
+                             long maxLagMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+        this.primaryFallbacks = Counter.builder("stationflow.datasource.read.primary.fallbacks")
+                .description("Read-only connections served by the primary because no replica was usable")
+                .register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder("stationflow.datasource.replica.lag", replica, r -> r.lagMs)
+                    .baseUnit("milliseconds")
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(meterRegistry);
+            Gauge.builder("stationflow.datasource.replica.usable", replica, r -> r.usable ? 1 : 0)
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(meterRegistry);
+        }
+        checkLag();
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.usable) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                replica.usable = false;
+                logger.warn("Replica {} refused a connection, skipping it: {}", replica.pool.getPoolName(), e.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica pools use their configured credentials");
+    }
+
+    @Scheduled(fixedDelayString = "${stationflow.datasource.replicas.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            boolean wasUsable = replica.usable;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                replica.lagMs = rs.next() ? rs.getDouble(1) : Double.NaN;
+                replica.usable = replica.lagMs <= maxLagMs;
+            } catch (SQLException e) {
+                replica.lagMs = Double.NaN;
+                replica.usable = false;
+            }
+            if (wasUsable != replica.usable) {
+                logger.info("Replica {} is now {} (lag {} ms)", replica.pool.getPoolName(),
+                        replica.usable ? "used for reads" : "skipped", replica.lagMs);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private static class Replica {
+        final HikariDataSource pool;
+        volatile double lagMs = Double.NaN;
+        volatile boolean usable;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
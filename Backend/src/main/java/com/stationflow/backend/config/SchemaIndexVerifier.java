@@ -0,0 +1,96 @@
+package com.stationflow.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Refuses to start when an index the hot queries rely on is missing, e.g. because a
+ * migration was skipped or an index was dropped by hand. Without them the repository
+ * queries silently turn into sequential scans.
+ */
+@Component
+public class SchemaIndexVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    // Keep in sync with db/migration/V3__hot_query_indexes.sql
+    private static final Map<String, List<String>> REQUIRED_INDEXES = Map.of(
+            "stations", List.of("idx_stations_type_is_custom", "idx_stations_lat_lng", "idx_stations_owner_id"),
+            "station_update_requests", List.of("idx_update_requests_status_created_at_id",
+                    "idx_update_requests_user_created_at_id", "idx_update_requests_station_status"),
+            "feedback", List.of("idx_feedback_created_at_id"),
+            "users", List.of("idx_users_username", "idx_users_created_at_id"));
+
+    @Value("${stationflow.schema.verify-indexes:true}")
+    private boolean enabled;
+
+    @Value("${stationflow.postgis.enabled:false}")
+    private boolean postgis;
+
+    @Autowired
+    private DataSource dataSource;
+
+    // Verify only after the migrations have run
+    @Autowired
+    private Flyway flyway;
+
+    @PostConstruct
+    public void verify() throws SQLException {
+        if (!enabled) {
+            return;
+        }
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<String>> required = new java.util.HashMap<>(REQUIRED_INDEXES);
+            if (postgis) {
+                // db/postgis/R__station_geography.sql
+                required.put("stations", java.util.stream.Stream.concat(
+                        required.get("stations").stream(), java.util.stream.Stream.of("idx_stations_geog")).toList());
+            }
+            for (Map.Entry<String, List<String>> entry : required.entrySet()) {
+                Set<String> present = indexNames(metaData, connection.getSchema(), entry.getKey());
+                for (String index : entry.getValue()) {
+                    if (!present.contains(index)) {
+                        missing.add(entry.getKey() + "." + index);
+                    }
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing database indexes " + missing
+                    + "; run the Flyway migrations or set stationflow.schema.verify-indexes=false");
+        }
+        logger.info("All required database indexes are present");
+    }
+
+    private static Set<String> indexNames(DatabaseMetaData metaData, String schema, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, schema, table, false, true)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+}
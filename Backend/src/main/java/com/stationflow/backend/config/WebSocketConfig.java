@@ -0,0 +1,23 @@
+package com.stationflow.backend.config;
+
+import com.stationflow.backend.websocket.StationDeltaWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private StationDeltaWebSocketHandler stationDeltaWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Binary delta channel next to the SSE endpoint; already public via /api/notifications/**
+        registry.addHandler(stationDeltaWebSocketHandler, "/api/notifications/ws")
+                .setAllowedOriginPatterns("*");
+    }
+}
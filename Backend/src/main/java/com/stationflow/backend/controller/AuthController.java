@@ -67,18 +67,16 @@ public class AuthController {
   }
 
   @Autowired
-  com.stationflow.backend.security.services.RateLimitService rateLimitService;
+  com.stationflow.backend.security.services.RecaptchaService recaptchaService;
 
   @Autowired
-  com.stationflow.backend.security.services.RecaptchaService recaptchaService;
+  com.stationflow.backend.security.jwt.VerifiedTokenCache verifiedTokenCache;
 
-  @PostMapping("/signup")
-  public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest, jakarta.servlet.http.HttpServletRequest request) {
-    String ipAddress = request.getRemoteAddr();
-    if (!rateLimitService.isAllowed(ipAddress)) {
-        return ResponseEntity.status(429).body(new MessageResponse("Hata: Çok fazla kayıt denemesi. Lütfen daha sonra tekrar deneyiniz."));
-    }
+  @Autowired
+  com.stationflow.backend.security.services.TokenEpochService tokenEpochService;
 
+  @PostMapping("/signup")
+  public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
     // Verify reCAPTCHA
     if (!recaptchaService.verify(signUpRequest.getRecaptchaToken())) {
         return ResponseEntity.badRequest().body(new MessageResponse("Hata: Robot doğrulaması başarısız!"));
@@ -98,6 +96,11 @@ public class AuthController {
             .body(new MessageResponse("Hata: Bu kullanıcı adı zaten kullanımda!"));
     }
 
+    // One account per solved captcha; a retry after the checks above may reuse the token
+    if (!recaptchaService.consume(signUpRequest.getRecaptchaToken())) {
+        return ResponseEntity.badRequest().body(new MessageResponse("Hata: Robot doğrulaması başarısız!"));
+    }
+
     // Create new user's account
     User user = new User();
     user.setUsername(signUpRequest.getUsername());
@@ -123,7 +126,8 @@ public class AuthController {
       Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
       UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-      User user = userRepository.findById(userDetails.getId())
+      // By username: that lookup is pinned to the primary (see UserRepository)
+      User user = userRepository.findByUsername(userDetails.getUsername())
               .orElseThrow(() -> new RuntimeException("Error: User is not found."));
 
       if (!encoder.matches(changePasswordRequest.getCurrentPassword(), user.getPassword())) {
@@ -133,6 +137,11 @@ public class AuthController {
       user.setPassword(encoder.encode(changePasswordRequest.getNewPassword()));
       userRepository.save(user);
 
-      return ResponseEntity.ok(new MessageResponse("Şifre başarıyla değiştirildi!"));
+      // Sign out every other session; this one continues with a fresh token
+      user.setTokenEpoch(tokenEpochService.revoke(user.getId()));
+      verifiedTokenCache.evictUser(user.getId());
+      String jwt = jwtUtils.generateJwtToken(UserDetailsImpl.build(user));
+
+      return ResponseEntity.ok(java.util.Map.of("message", "Şifre başarıyla değiştirildi!", "token", jwt));
   }
 }
@@ -1,6 +1,9 @@
 package com.stationflow.backend.controller;
 
+import com.stationflow.backend.config.PaginationConfig;
 import com.stationflow.backend.model.Feedback;
+import com.stationflow.backend.payload.request.PageCursor;
+import com.stationflow.backend.payload.response.CursorPage;
 import com.stationflow.backend.repository.FeedbackRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +19,9 @@ public class FeedbackController {
     @Autowired
     private FeedbackRepository feedbackRepository;
 
+    @Autowired
+    private PaginationConfig paginationConfig;
+
     @PostMapping
     public ResponseEntity<?> submitFeedback(@RequestBody Map<String, String> payload, jakarta.servlet.http.HttpServletRequest request) {
         String message = payload.get("message");
@@ -41,14 +47,7 @@ public class FeedbackController {
             }
         }
 
-        // Rate Limiting: Max 5 requests per 24 hours
-        java.time.LocalDateTime oneDayAgo = java.time.LocalDateTime.now().minusDays(1);
-        long count = feedbackRepository.countByIpAddressAndCreatedAtAfter(ipAddress, oneDayAgo);
-
-        if (count >= 5) {
-            return ResponseEntity.status(429).body(Map.of("message", "Çok fazla geri bildirim gönderdiniz. Lütfen yarın tekrar deneyin."));
-        }
-
+        // Submissions per IP are limited by RateLimitFilter ("feedback" policy)
         Feedback feedback = new Feedback(message, email, ipAddress);
         feedbackRepository.save(feedback);
 
@@ -56,8 +55,19 @@ public class FeedbackController {
     }
     @GetMapping
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
-    public java.util.List<Feedback> getAllFeedbacks() {
-        return feedbackRepository.findAll(org.springframework.data.domain.Sort.by(org.springframework.data.domain.Sort.Direction.DESC, "createdAt"));
+    public CursorPage<Feedback> getAllFeedbacks(@RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = paginationConfig.pageSize(size);
+        java.util.List<Feedback> rows = feedbackRepository.findPageAfter(after.getCreatedAt(), after.getId(), paginationConfig.keysetLimit(pageSize));
+        return CursorPage.of(rows, pageSize, Feedback::getCreatedAt, Feedback::getId);
+    }
+
+    // Total for the admin badge; the listing above is paged
+    @GetMapping("/count")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Long> countFeedbacks() {
+        return Map.of("count", feedbackRepository.count());
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,53 @@
+package com.stationflow.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Local stand-in for the IETT GetDurak_json SOAP service, for load tests and offline
+ * development. Point stationflow.iett.api-url at http://localhost:8080/api/test/iett;
+ * it answers with a fixed (seeded) set of bus stops around Istanbul.
+ */
+@RestController
+@RequestMapping("/api/test/iett")
+@ConditionalOnProperty(name = "stationflow.iett.stub.enabled", havingValue = "true")
+public class IettStubController {
+
+    @Value("${stationflow.iett.stub.stations:500}")
+    private int stations;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PostMapping(produces = MediaType.TEXT_XML_VALUE)
+    public String getDurak() throws Exception {
+        Random random = new Random(42);
+        List<Map<String, Object>> stops = new ArrayList<>(stations);
+        for (int i = 0; i < stations; i++) {
+            double lng = 28.6 + random.nextDouble() * 0.8;
+            double lat = 40.9 + random.nextDouble() * 0.3;
+            stops.add(Map.of("SDURAKKODU", 100000 + i, "SDURAKADI", "Test Durağı " + (i + 1),
+                    "KOORDINAT", "POINT (" + lng + " " + lat + ")"));
+        }
+        return "<?xml version=\"1.0\" encoding=\"utf-8\"?>" +
+                "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body>" +
+                "<GetDurak_jsonResponse xmlns=\"http://tempuri.org/\"><GetDurak_jsonResult>" +
+                xmlEscape(objectMapper.writeValueAsString(stops)) +
+                "</GetDurak_jsonResult></GetDurak_jsonResponse></soap:Body></soap:Envelope>";
+    }
+
+    private static String xmlEscape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -15,8 +15,9 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    // mode=diff (default) sends "station-diff" events, mode=full sends the whole Station as "station-update"
     @GetMapping("/subscribe")
-    public SseEmitter subscribe() {
-        return notificationService.subscribe();
+    public SseEmitter subscribe(@org.springframework.web.bind.annotation.RequestParam(defaultValue = "diff") String mode) {
+        return notificationService.subscribe("full".equalsIgnoreCase(mode));
     }
 }
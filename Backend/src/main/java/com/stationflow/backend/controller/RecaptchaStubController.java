@@ -0,0 +1,29 @@
+package com.stationflow.backend.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in for Google's siteverify endpoint, for tests and offline development.
+ * Point recaptcha.verify-url at http://localhost:8080/api/test/recaptcha/siteverify;
+ * every token passes except "fail".
+ */
+@RestController
+@RequestMapping("/api/test/recaptcha")
+@ConditionalOnProperty(name = "recaptcha.stub.enabled", havingValue = "true")
+public class RecaptchaStubController {
+
+    @PostMapping("/siteverify")
+    public Map<String, Object> siteVerify(@RequestParam(value = "response", required = false) String response) {
+        if (response == null || response.equals("fail")) {
+            return Map.of("success", false, "error-codes", List.of("invalid-input-response"));
+        }
+        return Map.of("success", true, "hostname", "localhost");
+    }
+}
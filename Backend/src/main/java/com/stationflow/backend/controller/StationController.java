@@ -1,6 +1,10 @@
 package com.stationflow.backend.controller;
 
+import com.stationflow.backend.config.PaginationConfig;
 import com.stationflow.backend.model.Station;
+import com.stationflow.backend.payload.request.PageCursor;
+import com.stationflow.backend.payload.response.CursorPage;
+import com.stationflow.backend.payload.response.StationUpdateRequestDto;
 import com.stationflow.backend.service.StationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +24,29 @@ public class StationController {
         return stationService.getAllStations();
     }
 
+    // --- Spatial search (PostGIS when enabled, see StationSpatialService) ---
+
+    @Autowired
+    private com.stationflow.backend.service.StationSpatialService spatialService;
+
+    @GetMapping("/search/nearby")
+    public List<Station> findNearby(@RequestParam double lat, @RequestParam double lng,
+                                    @RequestParam(defaultValue = "1000") double radius) {
+        return spatialService.findWithinRadius(lat, lng, radius);
+    }
+
+    @GetMapping("/search/bbox")
+    public List<Station> findInBoundingBox(@RequestParam double minLat, @RequestParam double minLng,
+                                           @RequestParam double maxLat, @RequestParam double maxLng) {
+        return spatialService.findInBoundingBox(minLat, minLng, maxLat, maxLng);
+    }
+
+    @GetMapping("/search/nearest")
+    public List<Station> findNearest(@RequestParam double lat, @RequestParam double lng,
+                                     @RequestParam(defaultValue = "10") int k) {
+        return spatialService.findNearest(lat, lng, k);
+    }
+
     @PostMapping
     public Station createStation(@jakarta.validation.Valid @RequestBody Station station) {
         return stationService.createStation(station);
@@ -32,6 +59,12 @@ public class StationController {
     @Autowired
     private com.stationflow.backend.repository.StationRepository stationRepository; // Added this import for stationRepository
     
+    @Autowired
+    private com.stationflow.backend.service.CrowdReportAggregator crowdReportAggregator;
+
+    @Autowired
+    private PaginationConfig paginationConfig;
+
     @PostMapping("/{id}/request-update")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> requestUpdate(@PathVariable String id, @RequestBody java.util.Map<String, Integer> payload) {
@@ -53,16 +86,15 @@ public class StationController {
             return ResponseEntity.badRequest().body(new com.stationflow.backend.payload.response.MessageResponse("Hata: Girilen sayı istasyon kapasitesini (" + station.getCapacity() + ") aşamaz!"));
         }
         
-        // 2. Daily Limit Check (for non-admins)
+        // 2. Daily limit for non-admins is enforced by RateLimitFilter ("update-request" policy)
         boolean isAdmin = userDetails.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        if (!isAdmin) {
-            java.time.LocalDateTime startOfDay = java.time.LocalDate.now().atStartOfDay();
-            long dailyCount = requestRepository.countByUserIdAndCreatedAtAfter(userDetails.getId(), startOfDay);
-            if (dailyCount >= 5) {
-                return ResponseEntity.badRequest().body(new com.stationflow.backend.payload.response.MessageResponse("Hata: Günlük 5 güncelleme isteği hakkınız doldu."));
-            }
-        }
         
+        // Write-behind mode: the report is merged with others in memory, outliers reach the admin queue later
+        if (crowdReportAggregator.isEnabled()) {
+            crowdReportAggregator.submit(station, userDetails.getId(), isAdmin, requestedAvailable);
+            return ResponseEntity.ok(new com.stationflow.backend.payload.response.MessageResponse("Bildiriminiz alındı, istasyon diğer bildirimlerle birlikte güncellenecek."));
+        }
+
         com.stationflow.backend.model.StationUpdateRequest request = new com.stationflow.backend.model.StationUpdateRequest(
             id, 
             userDetails.getId(), 
@@ -75,103 +107,99 @@ public class StationController {
         return ResponseEntity.ok(new com.stationflow.backend.payload.response.MessageResponse("Güncelleme isteği gönderildi, admin onayı bekleniyor."));
     }
 
-    @Autowired
-    private com.stationflow.backend.repository.UserRepository userRepository; // Added UserRepository
-
     @GetMapping("/requests")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
-    public List<com.stationflow.backend.payload.response.StationUpdateRequestDto> getPendingRequests() {
-        List<com.stationflow.backend.model.StationUpdateRequest> requests = requestRepository.findByStatus(com.stationflow.backend.model.StationUpdateRequest.RequestStatus.PENDING);
-        
-        return requests.stream().map(request -> {
-            String stationName = stationRepository.findById(request.getStationId())
-                    .map(Station::getName)
-                    .orElse("Unknown Station");
-            
-            String username = userRepository.findById(request.getUserId())
-                    .map(com.stationflow.backend.model.User::getUsername)
-                    .orElse("Unknown User");
-            
-            return new com.stationflow.backend.payload.response.StationUpdateRequestDto(request, stationName, username);
-        }).collect(java.util.stream.Collectors.toList());
+    public CursorPage<StationUpdateRequestDto> getPendingRequests(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = paginationConfig.pageSize(size);
+        List<StationUpdateRequestDto> rows = requestRepository.findDtosByStatus(com.stationflow.backend.model.StationUpdateRequest.RequestStatus.PENDING,
+                after.getCreatedAt(), after.getId(), paginationConfig.keysetLimit(pageSize));
+        return CursorPage.of(rows, pageSize, StationUpdateRequestDto::getCreatedAt, StationUpdateRequestDto::getId);
+    }
+
+    // Total for the admin badge; the listing above is paged
+    @GetMapping("/requests/count")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public java.util.Map<String, Long> countPendingRequests() {
+        return java.util.Map.of("count", requestRepository.countByStatus(com.stationflow.backend.model.StationUpdateRequest.RequestStatus.PENDING));
     }
 
     @GetMapping("/my-requests")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public List<com.stationflow.backend.payload.response.StationUpdateRequestDto> getMyRequests() {
+    public CursorPage<StationUpdateRequestDto> getMyRequests(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer size) {
         org.springframework.security.core.Authentication auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
         com.stationflow.backend.security.services.UserDetailsImpl userDetails = (com.stationflow.backend.security.services.UserDetailsImpl) auth.getPrincipal();
-        
-        System.out.println("DEBUG: getMyRequests - UserID: " + userDetails.getId());
 
-        List<com.stationflow.backend.model.StationUpdateRequest> requests = requestRepository.findByUserIdOrderByCreatedAtDesc(userDetails.getId());
-        
-        System.out.println("DEBUG: getMyRequests - Found " + requests.size() + " requests");
-
-        return requests.stream().map(request -> {
-            String stationName = stationRepository.findById(request.getStationId())
-                    .map(Station::getName)
-                    .orElse("Unknown Station");
-            
-            String username = userDetails.getUsername();
-            
-            return new com.stationflow.backend.payload.response.StationUpdateRequestDto(request, stationName, username);
-        }).collect(java.util.stream.Collectors.toList());
-    }
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = paginationConfig.pageSize(size);
+        List<StationUpdateRequestDto> requests = requestRepository.findDtosByUserId(userDetails.getId(),
+                after.getCreatedAt(), after.getId(), paginationConfig.keysetLimit(pageSize));
 
-    @Autowired
-    private com.stationflow.backend.service.NotificationService notificationService;
+        return CursorPage.of(requests, pageSize, StationUpdateRequestDto::getCreatedAt, StationUpdateRequestDto::getId);
+    }
 
     @PostMapping("/requests/{requestId}/approve")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')") // Added full path for PreAuthorize
     public ResponseEntity<?> approveRequest(@PathVariable String requestId) {
-        return requestRepository.findById(requestId).map(request -> {
-            if (request.getStatus() != com.stationflow.backend.model.StationUpdateRequest.RequestStatus.PENDING) {
+        // Real-time update is sent by the outbox relay once the approval has committed
+        switch (stationService.approveRequest(requestId)) {
+            case APPROVED:
+                return ResponseEntity.ok(new com.stationflow.backend.payload.response.MessageResponse("İstek onaylandı ve istasyon güncellendi."));
+            case ALREADY_PROCESSED:
                 return ResponseEntity.badRequest().body(new com.stationflow.backend.payload.response.MessageResponse("İstek zaten işlenmiş."));
-            }
-
-            Station station = stationRepository.findById(request.getStationId()).orElse(null);
-            if (station == null) {
+            case OVER_CAPACITY:
+                return ResponseEntity.badRequest().body(new com.stationflow.backend.payload.response.MessageResponse("Hata: İstenen sayı istasyon kapasitesini aşıyor."));
+            default:
                 return ResponseEntity.notFound().build();
-            }
-
-            // Update station
-            station.setAvailable(request.getRequestedAvailable());
-            
-            if (station.getType() == com.stationflow.backend.model.TransportType.BUS || station.getType() == com.stationflow.backend.model.TransportType.METRO) {
-                 if (station.getAvailable() == 0) station.setStatus(com.stationflow.backend.model.StationStatus.FULL);
-                 else station.setStatus(com.stationflow.backend.model.StationStatus.ACTIVE);
-            } else {
-                 if (station.getAvailable() == 0) station.setStatus(com.stationflow.backend.model.StationStatus.EMPTY);
-                 // Full capacity is GOOD for renting, so keep it ACTIVE
-                 else station.setStatus(com.stationflow.backend.model.StationStatus.ACTIVE);
-            }
-            
-            stationRepository.save(station);
-
-            // Update request status
-            request.setStatus(com.stationflow.backend.model.StationUpdateRequest.RequestStatus.APPROVED);
-            requestRepository.save(request);
-
-            // Send real-time update
-            notificationService.sendStationUpdate(station);
-
-            return ResponseEntity.ok(new com.stationflow.backend.payload.response.MessageResponse("İstek onaylandı ve istasyon güncellendi."));
-        }).orElse(ResponseEntity.notFound().build());
+        }
+    }
+
+    @PostMapping("/requests/bulk")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<com.stationflow.backend.payload.response.BulkActionResponse> processRequests(@jakarta.validation.Valid @RequestBody com.stationflow.backend.payload.request.BulkRequestAction bulkAction) {
+        return ResponseEntity.ok(stationService.processRequests(bulkAction.getIds(), bulkAction.getAction()));
     }
 
     @PostMapping("/requests/{requestId}/reject")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')") // Added full path for PreAuthorize
     public ResponseEntity<?> rejectRequest(@PathVariable String requestId) {
-        return requestRepository.findById(requestId).map(request -> {
-             if (request.getStatus() != com.stationflow.backend.model.StationUpdateRequest.RequestStatus.PENDING) {
+        switch (stationService.rejectRequest(requestId)) {
+            case REJECTED:
+                return ResponseEntity.ok(new com.stationflow.backend.payload.response.MessageResponse("İstek reddedildi."));
+            case ALREADY_PROCESSED:
                 return ResponseEntity.badRequest().body(new com.stationflow.backend.payload.response.MessageResponse("İstek zaten işlenmiş."));
-            }
-            
-            request.setStatus(com.stationflow.backend.model.StationUpdateRequest.RequestStatus.REJECTED);
-            requestRepository.save(request);
-            return ResponseEntity.ok(new com.stationflow.backend.payload.response.MessageResponse("İstek reddedildi."));
-        }).orElse(ResponseEntity.notFound().build());
+            default:
+                return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Body: {"available": 12, "version": 7}; version is optional and turns this into a compare-and-set
+    @PatchMapping("/{id}/availability")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateAvailability(@PathVariable String id, @RequestBody java.util.Map<String, Long> payload) {
+        Long available = payload.get("available");
+        if (available == null || available < 0) {
+            return ResponseEntity.badRequest().body(new com.stationflow.backend.payload.response.MessageResponse("Hata: Mevcut sayı 0'dan küçük olamaz."));
+        }
+        // Capacity is an int, so anything wider is over it; checked before narrowing, which would wrap
+        if (available > Integer.MAX_VALUE) {
+            return ResponseEntity.badRequest().body(new com.stationflow.backend.payload.response.MessageResponse("Hata: Girilen sayı istasyon kapasitesini aşamaz!"));
+        }
+
+        StationService.AvailabilityUpdate update = stationService.updateAvailability(id, available.intValue(), payload.get("version"));
+        switch (update.status()) {
+            case UPDATED:
+                return ResponseEntity.ok(java.util.Map.of("message", "İstasyon güncellendi.", "version", update.version()));
+            case OVER_CAPACITY:
+                return ResponseEntity.badRequest().body(new com.stationflow.backend.payload.response.MessageResponse("Hata: Girilen sayı istasyon kapasitesini aşamaz!"));
+            case VERSION_CONFLICT:
+                return ResponseEntity.status(org.springframework.http.HttpStatus.CONFLICT)
+                        .body(java.util.Map.of("message", "İstasyon başka bir işlem tarafından güncellendi, lütfen tekrar deneyin.", "version", update.version()));
+            default:
+                return ResponseEntity.notFound().build();
+        }
     }
 
     @GetMapping("/{id}")
@@ -1,13 +1,13 @@
 package com.stationflow.backend.controller;
 
 import com.stationflow.backend.model.User;
+import com.stationflow.backend.payload.request.PageCursor;
+import com.stationflow.backend.payload.response.CursorPage;
 import com.stationflow.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
@@ -16,8 +16,9 @@ public class UserController {
     private UserService userService;
 
     @GetMapping
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    public CursorPage<User> getAllUsers(@RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer size) {
+        return userService.getUsersPage(PageCursor.decode(cursor), size);
     }
 
     @PostMapping
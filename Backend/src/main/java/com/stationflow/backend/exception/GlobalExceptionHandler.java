@@ -46,6 +46,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(org.springframework.dao.OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(org.springframework.dao.OptimisticLockingFailureException ex) {
+        logger.warn("Concurrent modification: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Kayıt başka bir işlem tarafından güncellendi, lütfen tekrar deneyin.");
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingOverloaded(PasswordHashingOverloadedException ex) {
+        logger.warn("Shedding auth request: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Sunucu şu anda çok yoğun, lütfen birkaç saniye sonra tekrar deneyin.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "2").body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException ex) {
         logger.error("Illegal argument: {}", ex.getMessage());
@@ -0,0 +1,11 @@
+package com.stationflow.backend.exception;
+
+/**
+ * Thrown when the password hashing pool is saturated and a login/signup is shed instead of queued.
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
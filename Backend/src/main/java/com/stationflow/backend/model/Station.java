@@ -5,6 +5,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "stations")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "station")
 public class Station {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -35,6 +37,11 @@ public class Station {
     
     private boolean isCustom;
     private String ownerId;
+
+    // Optimistic lock; also bumped by the single-statement availability update in StationService
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private long version;
     
     @PrePersist
     protected void onCreate() {
@@ -141,4 +148,12 @@ public class Station {
     public void setOwnerId(String ownerId) {
         this.ownerId = ownerId;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
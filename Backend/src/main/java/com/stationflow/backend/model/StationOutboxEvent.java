@@ -0,0 +1,42 @@
+package com.stationflow.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A station change waiting to be pushed to clients. Written in the same transaction
+ * as the station mutation and deleted by the relay once published.
+ */
+@Entity
+@Table(name = "station_outbox")
+public class StationOutboxEvent {
+    // Sequence ids (pooled) keep relay order and let Hibernate batch the inserts of bulk actions
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "station_outbox_seq")
+    @SequenceGenerator(name = "station_outbox_seq", sequenceName = "station_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String stationId;
+
+    private LocalDateTime createdAt;
+
+    public StationOutboxEvent() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public StationOutboxEvent(String stationId) {
+        this.stationId = stationId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStationId() { return stationId; }
+    public void setStationId(String stationId) { this.stationId = stationId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
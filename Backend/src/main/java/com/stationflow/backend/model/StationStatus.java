@@ -16,4 +16,13 @@ public enum StationStatus {
     public String getValue() {
         return value;
     }
+
+    // BUS/METRO count free seats (0 = FULL); shared vehicles count vehicles (0 = EMPTY).
+    // Full capacity is GOOD for renting, so it stays ACTIVE. SQL twin: StationRepository.STATUS_FOR_NEW_AVAILABLE
+    public static StationStatus forAvailability(TransportType type, int available) {
+        if (type == TransportType.BUS || type == TransportType.METRO) {
+            return available == 0 ? FULL : ACTIVE;
+        }
+        return available == 0 ? EMPTY : ACTIVE;
+    }
 }
@@ -7,6 +7,8 @@ import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -27,7 +29,17 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // Bumped to revoke every token issued before; tokens carry the epoch they were issued at
+    // Only changed through UserRepository.incrementTokenEpoch, never by saving a (possibly stale) entity
+    @Column(columnDefinition = "integer default 0", updatable = false)
+    private int tokenEpoch;
+
+    // Existing rows get the time the column was added
+    @Column(columnDefinition = "timestamp(6) default current_timestamp")
+    private java.time.LocalDateTime createdAt;
+
     public User() {
+        this.createdAt = java.time.LocalDateTime.now();
     }
 
     public User(String id, String username, String email, String password, Role role) {
@@ -36,6 +48,7 @@ public class User {
         this.email = email;
         this.password = password;
         this.role = role;
+        this.createdAt = java.time.LocalDateTime.now();
     }
 
     public String getId() {
@@ -77,4 +90,20 @@ public class User {
     public void setRole(Role role) {
         this.role = role;
     }
+
+    public java.time.LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(java.time.LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getTokenEpoch() {
+        return tokenEpoch;
+    }
+
+    public void setTokenEpoch(int tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
+    }
 }
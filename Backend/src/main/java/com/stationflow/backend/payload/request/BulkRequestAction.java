@@ -0,0 +1,37 @@
+package com.stationflow.backend.payload.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkRequestAction {
+    @NotEmpty(message = "En az bir istek seçilmelidir")
+    @Size(max = 1000, message = "Tek seferde en fazla 1000 istek işlenebilir")
+    private List<String> ids;
+
+    @NotNull(message = "İşlem türü zorunludur")
+    private Action action;
+
+    public enum Action {
+        APPROVE,
+        REJECT
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+}
@@ -0,0 +1,47 @@
+package com.stationflow.backend.payload.response;
+
+public class BulkActionResponse {
+    private String message;
+    private int approved;
+    private int rejected;
+    private int skipped;
+
+    public BulkActionResponse(String message, int approved, int rejected, int skipped) {
+        this.message = message;
+        this.approved = approved;
+        this.rejected = rejected;
+        this.skipped = skipped;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public int getApproved() {
+        return approved;
+    }
+
+    public void setApproved(int approved) {
+        this.approved = approved;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+}
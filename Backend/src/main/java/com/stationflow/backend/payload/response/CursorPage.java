@@ -0,0 +1,37 @@
+package com.stationflow.backend.payload.response;
+
+import com.stationflow.backend.payload.request.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a page from a query that fetched size + 1 rows; the extra row only tells
+     * whether there is a next page and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, LocalDateTime> createdAt, Function<T, String> id) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        T last = items.get(size - 1);
+        return new CursorPage<>(items, new PageCursor(createdAt.apply(last), id.apply(last)).encode());
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,25 @@
+package com.stationflow.backend.payload.response;
+
+import java.util.Map;
+
+public class StationDiff {
+    private String id;
+    private long version;
+    private Map<String, Object> changes;
+
+    public StationDiff(String id, long version, Map<String, Object> changes) {
+        this.id = id;
+        this.version = version;
+        this.changes = changes;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public Map<String, Object> getChanges() { return changes; }
+    public void setChanges(Map<String, Object> changes) { this.changes = changes; }
+}
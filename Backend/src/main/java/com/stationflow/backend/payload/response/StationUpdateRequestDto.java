@@ -24,6 +24,19 @@ public class StationUpdateRequestDto {
         this.createdAt = request.getCreatedAt();
     }
 
+    // Used by the joined projection queries in StationUpdateRequestRepository
+    public StationUpdateRequestDto(String id, String stationId, String stationName, String userId, String username,
+                                   int requestedAvailable, StationUpdateRequest.RequestStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.stationId = stationId;
+        this.stationName = stationName;
+        this.userId = userId;
+        this.username = username;
+        this.requestedAvailable = requestedAvailable;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
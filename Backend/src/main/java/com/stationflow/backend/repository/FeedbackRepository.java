@@ -1,12 +1,20 @@
 package com.stationflow.backend.repository;
 
 import com.stationflow.backend.model.Feedback;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, String> {
-    long countByIpAddressAndCreatedAtAfter(String ipAddress, LocalDateTime date);
+    // Keyset page in (createdAt DESC, id DESC) order, see PageCursor
+    @Query("SELECT f FROM Feedback f " +
+           "WHERE f.createdAt <= :createdAt AND (f.createdAt < :createdAt OR f.id < :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Feedback> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable limit);
 }
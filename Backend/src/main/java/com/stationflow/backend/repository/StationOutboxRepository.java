@@ -0,0 +1,20 @@
+package com.stationflow.backend.repository;
+
+import com.stationflow.backend.model.StationOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StationOutboxRepository extends JpaRepository<StationOutboxEvent, Long> {
+
+    // Transaction-scoped advisory lock so only one relay in the cluster publishes at a time, keeping order
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(@Param("key") long key);
+
+    @Query(value = "SELECT * FROM station_outbox ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<StationOutboxEvent> findNextBatch(@Param("limit") int limit);
+}
@@ -2,13 +2,88 @@ package com.stationflow.backend.repository;
 
 import com.stationflow.backend.model.Station;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface StationRepository extends JpaRepository<Station, String> {
+
+    // SQL twin of StationStatus.forAvailability for a new :available value
+    String STATUS_FOR_NEW_AVAILABLE =
+            "CASE WHEN type IN ('BUS', 'METRO') THEN (CASE WHEN :available = 0 THEN 'FULL' ELSE 'ACTIVE' END) " +
+            "ELSE (CASE WHEN :available = 0 THEN 'EMPTY' ELSE 'ACTIVE' END) END";
+
+    // Same rule over the stored available column
+    String STATUS_FOR_CURRENT_AVAILABLE =
+            "CASE WHEN type IN ('BUS', 'METRO') THEN (CASE WHEN available = 0 THEN 'FULL' ELSE 'ACTIVE' END) " +
+            "ELSE (CASE WHEN available = 0 THEN 'EMPTY' ELSE 'ACTIVE' END) END";
+
+    // Set-based status fix-up; only rows whose status is out of date are written
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value =
+            "UPDATE stations SET status = " + STATUS_FOR_CURRENT_AVAILABLE + ", version = version + 1 " +
+            "WHERE status IS DISTINCT FROM " + STATUS_FOR_CURRENT_AVAILABLE, nativeQuery = true)
+    int reconcileStatuses();
+
+    // --- PostGIS (stationflow.postgis.enabled, db/postgis); all use the GiST index on geog ---
+
+    String POINT = "CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography)";
+
+    // Stations within :meters of the point, the :limit nearest first
+    @org.springframework.data.jpa.repository.Query(value =
+            "SELECT s.* FROM stations s WHERE ST_DWithin(s.geog, " + POINT + ", :meters) " +
+            "ORDER BY s.geog <-> " + POINT + " LIMIT :limit", nativeQuery = true)
+    List<Station> findWithinRadius(@Param("lat") double lat, @Param("lng") double lng, @Param("meters") double meters,
+                                   @Param("limit") int limit);
+
+    // Stations in the box, the :limit nearest to its centre first
+    @org.springframework.data.jpa.repository.Query(value =
+            "SELECT s.* FROM stations s " +
+            "WHERE s.geog && CAST(ST_MakeEnvelope(:minLng, :minLat, :maxLng, :maxLat, 4326) AS geography) " +
+            "ORDER BY s.geog <-> CAST(ST_SetSRID(ST_MakePoint((:minLng + :maxLng) / 2, (:minLat + :maxLat) / 2), 4326) AS geography) " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Station> findInBoundingBox(@Param("minLat") double minLat, @Param("minLng") double minLng,
+                                    @Param("maxLat") double maxLat, @Param("maxLng") double maxLng,
+                                    @Param("limit") int limit);
+
+    // k-NN: index-assisted distance ordering
+    @org.springframework.data.jpa.repository.Query(value =
+            "SELECT s.* FROM stations s ORDER BY s.geog <-> " + POINT + " LIMIT :limit", nativeQuery = true)
+    List<Station> findNearest(@Param("lat") double lat, @Param("lng") double lng, @Param("limit") int limit);
+
+    // Plain lat/lng range (idx_stations_lat_lng), used when PostGIS is not available
+    List<Station> findByLocationLatBetweenAndLocationLngBetween(double minLat, double maxLat, double minLng, double maxLng);
+
+    // Same range, nearest to (:lat, :lng) first by equirectangular distance (:lngScale = cos²(lat)),
+    // so the page limit keeps the closest stations
+    @org.springframework.data.jpa.repository.Query("SELECT s FROM Station s " +
+            "WHERE s.location.lat BETWEEN :minLat AND :maxLat AND s.location.lng BETWEEN :minLng AND :maxLng " +
+            "ORDER BY (s.location.lat - :lat) * (s.location.lat - :lat) + (s.location.lng - :lng) * (s.location.lng - :lng) * :lngScale")
+    List<Station> findInRangeNearestFirst(@Param("minLat") double minLat, @Param("maxLat") double maxLat,
+                                          @Param("minLng") double minLng, @Param("maxLng") double maxLng,
+                                          @Param("lat") double lat, @Param("lng") double lng, @Param("lngScale") double lngScale,
+                                          org.springframework.data.domain.Pageable limit);
+
     void deleteByTypeAndIsCustomFalse(com.stationflow.backend.model.TransportType type);
     List<Station> findByOwnerId(String ownerId);
+    // Import de-duplication right after this instance's own inserts, so it must see them: primary
+    @org.springframework.transaction.annotation.Transactional
     boolean existsByLocationLatAndLocationLng(double lat, double lng);
+
+    // Not read-only, so it is answered by the primary: used right after another instance's commit,
+    // which a replica may not have replayed yet
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("SELECT s FROM Station s WHERE s.id IN :ids")
+    List<Station> findAllByIdOnPrimary(@Param("ids") java.util.Collection<String> ids);
+
+    // Same, for a full resync after cluster events may have been missed
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("SELECT s FROM Station s")
+    List<Station> findAllOnPrimary();
+
+    // (id, type) rows in id order; seeds the WebSocket station index table
+    @org.springframework.data.jpa.repository.Query("SELECT s.id, s.type FROM Station s ORDER BY s.id")
+    List<Object[]> findIdsAndTypesOrderById();
 }
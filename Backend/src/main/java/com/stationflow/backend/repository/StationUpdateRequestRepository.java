@@ -1,7 +1,10 @@
 package com.stationflow.backend.repository;
 
 import com.stationflow.backend.model.StationUpdateRequest;
+import com.stationflow.backend.payload.response.StationUpdateRequestDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +12,50 @@ import java.util.List;
 @Repository
 public interface StationUpdateRequestRepository extends JpaRepository<StationUpdateRequest, String> {
     List<StationUpdateRequest> findByStatus(StationUpdateRequest.RequestStatus status);
+    long countByStatus(StationUpdateRequest.RequestStatus status);
     List<StationUpdateRequest> findByStationIdAndStatus(String stationId, StationUpdateRequest.RequestStatus status);
-    long countByUserIdAndCreatedAtAfter(String userId, java.time.LocalDateTime date);
     List<StationUpdateRequest> findByUserIdOrderByCreatedAtDesc(String userId);
+
+    // Conditional status change; returns 0 if the request was not in the expected state
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("UPDATE StationUpdateRequest r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int transitionStatus(@Param("id") String id,
+                         @Param("from") StationUpdateRequest.RequestStatus from,
+                         @Param("to") StationUpdateRequest.RequestStatus to);
+
+    // Same for many requests at once; returns how many were still in the expected state
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("UPDATE StationUpdateRequest r SET r.status = :to WHERE r.id IN :ids AND r.status = :from")
+    int transitionStatuses(@Param("ids") java.util.Collection<String> ids,
+                           @Param("from") StationUpdateRequest.RequestStatus from,
+                           @Param("to") StationUpdateRequest.RequestStatus to);
+
+    // Rows of (userId, status, count) used to weight crowd reports by reporter history
+    @Query("SELECT r.userId, r.status, COUNT(r) FROM StationUpdateRequest r WHERE r.userId IN :userIds GROUP BY r.userId, r.status")
+    List<Object[]> countByUserIdInGroupByStatus(@Param("userIds") java.util.Collection<String> userIds);
+
+    // Station and user names are joined in, so a listing is a single query regardless of size.
+    // Keyset paging: rows strictly after (:createdAt, :id) in (createdAt DESC, id DESC) order.
+    // The redundant createdAt <= bound lets the index scan start at the cursor.
+    String DTO_SELECT = "SELECT new com.stationflow.backend.payload.response.StationUpdateRequestDto(" +
+           "r.id, r.stationId, COALESCE(s.name, 'Unknown Station'), r.userId, COALESCE(u.username, 'Unknown User'), " +
+           "r.requestedAvailable, r.status, r.createdAt) " +
+           "FROM StationUpdateRequest r " +
+           "LEFT JOIN Station s ON s.id = r.stationId " +
+           "LEFT JOIN User u ON u.id = r.userId ";
+
+    String KEYSET_PAGE = "AND r.createdAt <= :createdAt AND (r.createdAt < :createdAt OR r.id < :id) " +
+           "ORDER BY r.createdAt DESC, r.id DESC";
+
+    @Query(DTO_SELECT + "WHERE r.status = :status " + KEYSET_PAGE)
+    List<StationUpdateRequestDto> findDtosByStatus(@Param("status") StationUpdateRequest.RequestStatus status,
+                                                   @Param("createdAt") java.time.LocalDateTime createdAt,
+                                                   @Param("id") String id,
+                                                   org.springframework.data.domain.Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE r.userId = :userId " + KEYSET_PAGE)
+    List<StationUpdateRequestDto> findDtosByUserId(@Param("userId") String userId,
+                                                   @Param("createdAt") java.time.LocalDateTime createdAt,
+                                                   @Param("id") String id,
+                                                   org.springframework.data.domain.Pageable limit);
 }
@@ -1,13 +1,37 @@
 package com.stationflow.backend.repository;
 
 import com.stationflow.backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
+    // Sign-up duplicate checks, sign-in and password changes read on the primary, so a user
+    // registered or changed a moment ago is never missed on a lagging replica
+    @org.springframework.transaction.annotation.Transactional
     Optional<User> findByEmail(String email);
+    @org.springframework.transaction.annotation.Transactional
     Optional<User> findByUsername(String username);
+
+    // Not read-only, so it is always answered by the primary: a lagging replica would un-revoke tokens
+    @org.springframework.transaction.annotation.Transactional
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenEpochById(@Param("id") String id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("UPDATE User u SET u.tokenEpoch = u.tokenEpoch + 1 WHERE u.id = :id")
+    int incrementTokenEpoch(@Param("id") String id);
+
+    // Keyset page in (createdAt DESC, id DESC) order, see PageCursor
+    @Query("SELECT u FROM User u " +
+           "WHERE u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR u.id < :id) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable limit);
 }
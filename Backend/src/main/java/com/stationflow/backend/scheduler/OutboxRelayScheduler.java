@@ -0,0 +1,34 @@
+package com.stationflow.backend.scheduler;
+
+import com.stationflow.backend.service.StationOutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxRelayScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelayScheduler.class);
+
+    @Autowired
+    private StationOutboxService outboxService;
+
+    @Value("${stationflow.outbox.batch-size:200}")
+    private int batchSize;
+
+    // Drain the outbox in batches; a full batch means there may be more waiting
+    @Scheduled(fixedDelayString = "${stationflow.outbox.poll-interval-ms:250}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = outboxService.relayNextBatch();
+            } while (relayed >= batchSize);
+        } catch (Exception e) {
+            logger.error("Outbox relay failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.stationflow.backend.scheduler;
+
+import com.stationflow.backend.service.PartitionMaintenanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PartitionMaintenanceScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceScheduler.class);
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    // Daily by default; partitions are made months ahead, so a missed run is harmless
+    @Scheduled(cron = "${stationflow.partitioning.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        try {
+            partitionMaintenanceService.maintain();
+        } catch (Exception e) {
+            logger.error("Partition maintenance failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.stationflow.backend.security;
+
+import com.stationflow.backend.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt on a small dedicated pool with a bounded queue instead of on request threads.
+ *
+ * A login burst can then only occupy `threads` cores; request threads just wait for
+ * their result. When the queue is full, or a hash is not done within max-wait, the
+ * caller gets a PasswordHashingOverloadedException (503) right away, and the station
+ * endpoints keep their threads.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long maxWaitMs;
+
+  private final Timer queueWait;
+  private final Timer encodeTime;
+  private final Timer matchTime;
+  private final Counter rejected;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMs,
+                                MeterRegistry registry) {
+    this.delegate = delegate;
+    this.maxWaitMs = maxWaitMs;
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+        new ThreadPoolExecutor.AbortPolicy());
+
+    this.queueWait = Timer.builder("stationflow.password.queue.wait")
+        .description("Time a password hash waited for a hashing thread").register(registry);
+    this.encodeTime = Timer.builder("stationflow.password.hash")
+        .tag("operation", "encode").description("Password hashing time").register(registry);
+    this.matchTime = Timer.builder("stationflow.password.hash")
+        .tag("operation", "matches").description("Password hashing time").register(registry);
+    this.rejected = Counter.builder("stationflow.password.rejected")
+        .description("Hashes shed because the pool was saturated").register(registry);
+    Gauge.builder("stationflow.password.queue.size", executor, e -> e.getQueue().size()).register(registry);
+    Gauge.builder("stationflow.password.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(() -> delegate.encode(rawPassword), encodeTime);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(() -> delegate.matches(rawPassword, encodedPassword), matchTime);
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T run(Callable<T> hash, Timer hashTime) {
+    long submitted = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+        return hashTime.recordCallable(hash);
+      });
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new PasswordHashingOverloadedException("Password hashing queue is full");
+    }
+
+    try {
+      return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejected.increment();
+      throw new PasswordHashingOverloadedException("Password hashing did not finish within " + maxWaitMs + " ms");
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingOverloadedException("Interrupted while waiting for password hashing");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+}
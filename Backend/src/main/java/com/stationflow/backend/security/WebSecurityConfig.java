@@ -2,8 +2,11 @@ package com.stationflow.backend.security;
 
 import com.stationflow.backend.security.jwt.AuthEntryPointJwt;
 import com.stationflow.backend.security.jwt.JwtAuthenticationFilter;
+import com.stationflow.backend.security.ratelimit.RateLimitFilter;
+import com.stationflow.backend.security.ratelimit.RateLimiter;
 import com.stationflow.backend.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -31,6 +34,11 @@ public class WebSecurityConfig {
     return new JwtAuthenticationFilter();
   }
 
+  @Bean
+  public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter) {
+    return new RateLimitFilter(rateLimiter);
+  }
+
   @Bean
   public DaoAuthenticationProvider authenticationProvider() {
       DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -46,13 +54,30 @@ public class WebSecurityConfig {
     return authConfig.getAuthenticationManager();
   }
 
+  @Value("${stationflow.password.threads:0}")
+  private int passwordThreads;
+
+  @Value("${stationflow.password.queue-capacity:64}")
+  private int passwordQueueCapacity;
+
+  @Value("${stationflow.password.max-wait-ms:3000}")
+  private long passwordMaxWaitMs;
+
+  @Autowired
+  private io.micrometer.core.instrument.MeterRegistry meterRegistry;
+
+  @Value("${stationflow.metrics.prometheus-public:false}")
+  private boolean prometheusPublic;
+
+  // BCrypt runs on its own bounded pool so login bursts cannot take every request thread
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    int threads = passwordThreads > 0 ? passwordThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, passwordQueueCapacity, passwordMaxWaitMs, meterRegistry);
   }
 
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain filterChain(HttpSecurity http, RateLimitFilter rateLimitFilter) throws Exception {
     http.csrf(csrf -> csrf.disable())
         .cors(org.springframework.security.config.Customizer.withDefaults())
         .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
@@ -64,6 +89,11 @@ public class WebSecurityConfig {
               .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/error/**")).permitAll()
               .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/notifications/**")).permitAll()
               .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/stations").permitAll()
+              .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/stations/search/**").permitAll()
+              .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/actuator/health")).permitAll()
+              // Scrape endpoint; open only when the management port is not reachable from outside
+              .requestMatchers(request -> prometheusPublic && "/actuator/prometheus".equals(request.getServletPath())).permitAll()
+              .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/actuator/**")).hasRole("ADMIN")
               .anyRequest().authenticated()
         );
     
@@ -73,6 +103,8 @@ public class WebSecurityConfig {
     http.authenticationProvider(authenticationProvider());
 
     http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+    // After the JWT filter so per-user limits know who is calling
+    http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
     return http.build();
   }
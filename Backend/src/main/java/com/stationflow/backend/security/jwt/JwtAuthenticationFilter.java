@@ -1,5 +1,7 @@
 package com.stationflow.backend.security.jwt;
 
+import com.stationflow.backend.security.services.TokenEpochService;
+import com.stationflow.backend.security.services.UserDetailsImpl;
 import com.stationflow.backend.security.services.UserDetailsServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -26,23 +28,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+  @Autowired
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @Autowired
+  private TokenEpochService tokenEpochService;
+
+  @Autowired
+  private io.micrometer.core.instrument.MeterRegistry meterRegistry;
+
+  // Public read endpoints never need the caller's identity
+  private static final org.springframework.security.web.util.matcher.RequestMatcher PUBLIC_ROUTES =
+      new org.springframework.security.web.util.matcher.OrRequestMatcher(
+          new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/stations", "GET"),
+          new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/stations/search/**", "GET"),
+          new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/notifications/**"));
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return PUBLIC_ROUTES.matches(request);
+  }
+
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
     try {
       String jwt = parseJwt(request);
-      if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-        String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        UsernamePasswordAuthenticationToken authentication =
-            new UsernamePasswordAuthenticationToken(
-                userDetails,
-                null,
-                userDetails.getAuthorities());
-        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+      if (jwt != null) {
+        UserDetails userDetails = resolvePrincipal(jwt);
+        if (userDetails != null) {
+          UsernamePasswordAuthenticationToken authentication =
+              new UsernamePasswordAuthenticationToken(
+                  userDetails,
+                  null,
+                  userDetails.getAuthorities());
+          authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+          SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
       }
     } catch (Exception e) {
       logger.error("Cannot set user authentication: {}", e);
@@ -51,6 +74,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  // One parse per token, no user query: the principal comes from the claims and is cached
+  // with the token; only the (in-memory) epoch check runs on every request
+  private UserDetails resolvePrincipal(String jwt) {
+    io.micrometer.core.instrument.Timer.Sample sample = io.micrometer.core.instrument.Timer.start(meterRegistry);
+    String result = "cached";
+    try {
+      UserDetailsImpl principal = verifiedTokenCache.get(jwt);
+      if (principal == null) {
+        result = "verified";
+        principal = verify(jwt);
+        if (principal == null) {
+          result = "invalid";
+          return null;
+        }
+      }
+
+      if (!tokenEpochService.isCurrent(principal.getId(), principal.getTokenEpoch())) {
+        result = "revoked";
+        return null; // Revoked (password change, role change) or user deleted
+      }
+      return principal;
+    } finally {
+      sample.stop(meterRegistry.timer("stationflow.jwt.validation", "result", result));
+    }
+  }
+
+  // Signature and expiry check, then the principal from the claims; cached until the token expires
+  private UserDetailsImpl verify(String jwt) {
+    io.jsonwebtoken.Claims claims = jwtUtils.parseClaims(jwt);
+    if (claims == null) {
+      return null;
+    }
+    UserDetailsImpl principal = jwtUtils.principalFromClaims(claims);
+    if (principal == null) {
+      // Token issued before claims carried the user: load it once, such tokens count as epoch 0
+      UserDetailsImpl loaded = (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+      principal = new UserDetailsImpl(loaded.getId(), loaded.getUsername(), loaded.getEmail(), null,
+          loaded.getAuthorities(), 0);
+    }
+    verifiedTokenCache.put(jwt, principal, claims.getExpiration());
+    return principal;
+  }
+
   private String parseJwt(HttpServletRequest request) {
     String headerAuth = request.getHeader("Authorization");
 
@@ -8,56 +8,99 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtils {
   private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+  private static final String CLAIM_USER_ID = "uid";
+  private static final String CLAIM_EMAIL = "email";
+  private static final String CLAIM_ROLES = "roles";
+  private static final String CLAIM_EPOCH = "epoch";
+
   @Value("${stationflow.app.jwtSecret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
   private String jwtSecret;
 
   @Value("${stationflow.app.jwtExpirationMs:86400000}")
   private int jwtExpirationMs;
 
-  public String generateJwtToken(Authentication authentication) {
+  // Built once; decoding the secret and creating the HMAC key per call is wasted work
+  private Key signingKey;
+  private JwtParser parser;
 
-    UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+  @jakarta.annotation.PostConstruct
+  public void init() {
+    signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+  }
+
+  public String generateJwtToken(Authentication authentication) {
+    return generateJwtToken((UserDetailsImpl) authentication.getPrincipal());
+  }
 
+  // The claims carry everything the request filter needs, so it never has to load the user
+  public String generateJwtToken(UserDetailsImpl userPrincipal) {
     return Jwts.builder()
         .setSubject((userPrincipal.getUsername()))
+        .claim(CLAIM_USER_ID, userPrincipal.getId())
+        .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+        .claim(CLAIM_ROLES, userPrincipal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+        .claim(CLAIM_EPOCH, userPrincipal.getTokenEpoch())
         .setIssuedAt(new Date())
         .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-        .signWith(key(), SignatureAlgorithm.HS256)
+        .signWith(signingKey, SignatureAlgorithm.HS256)
         .compact();
   }
-  
-  private Key key() {
-    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+
+  /**
+   * Principal rebuilt from verified claims, or null for tokens issued before claims carried the user.
+   */
+  public UserDetailsImpl principalFromClaims(Claims claims) {
+    String userId = claims.get(CLAIM_USER_ID, String.class);
+    if (userId == null) {
+      return null;
+    }
+    List<?> roles = claims.get(CLAIM_ROLES, List.class);
+    List<GrantedAuthority> authorities = roles == null ? List.of()
+        : roles.stream().<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString())).toList();
+    Integer epoch = claims.get(CLAIM_EPOCH, Integer.class);
+    return new UserDetailsImpl(userId, claims.getSubject(), claims.get(CLAIM_EMAIL, String.class), null,
+        authorities, epoch == null ? 0 : epoch);
   }
 
   public String getUserNameFromJwtToken(String token) {
-    return Jwts.parserBuilder().setSigningKey(key()).build()
-               .parseClaimsJws(token).getBody().getSubject();
+    return parser.parseClaimsJws(token).getBody().getSubject();
   }
 
   public boolean validateJwtToken(String authToken) {
+    return parseClaims(authToken) != null;
+  }
+
+  /**
+   * Verifies the signature and expiry and returns the claims, or null if the token is invalid.
+   */
+  public Claims parseClaims(String authToken) {
     try {
-      Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-      return true;
+      return parser.parseClaimsJws(authToken).getBody();
     } catch (MalformedJwtException e) {
       logger.error("Invalid JWT token: {}", e.getMessage());
     } catch (ExpiredJwtException e) {
       logger.error("JWT token is expired: {}", e.getMessage());
     } catch (UnsupportedJwtException e) {
       logger.error("JWT token is unsupported: {}", e.getMessage());
+    } catch (io.jsonwebtoken.security.SecurityException e) {
+      logger.error("Invalid JWT signature: {}", e.getMessage());
     } catch (IllegalArgumentException e) {
       logger.error("JWT claims string is empty: {}", e.getMessage());
     }
 
-    return false;
+    return null;
   }
 }
@@ -0,0 +1,67 @@
+package com.stationflow.backend.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.stationflow.backend.security.services.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer token -> principal for tokens that already passed signature and expiry checks,
+ * so repeated requests with the same token skip the HMAC, the claims decode and the user
+ * lookup. An entry lives at most ttl-ms and never past the token's own expiry.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final Cache<String, Entry> cache;
+
+  public VerifiedTokenCache(@Value("${stationflow.jwt.cache.max-size:10000}") long maxSize,
+                            @Value("${stationflow.jwt.cache.ttl-ms:60000}") long ttlMs,
+                            io.micrometer.core.instrument.MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .recordStats()
+        .expireAfter(new Expiry<String, Entry>() {
+          @Override
+          public long expireAfterCreate(String token, Entry entry, long currentTime) {
+            long untilTokenExpiry = entry.expiresAtMillis - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, Math.min(ttlMs, untilTokenExpiry)));
+          }
+
+          @Override
+          public long expireAfterUpdate(String token, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, entry, currentTime);
+          }
+
+          @Override
+          public long expireAfterRead(String token, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .build();
+    io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+  }
+
+  public UserDetailsImpl get(String token) {
+    Entry entry = cache.getIfPresent(token);
+    return entry == null ? null : entry.principal;
+  }
+
+  public void put(String token, UserDetailsImpl principal, Date expiresAt) {
+    long expiresAtMillis = expiresAt == null ? Long.MAX_VALUE : expiresAt.getTime();
+    cache.put(token, new Entry(principal, expiresAtMillis));
+  }
+
+  // Drops every cached token of a user, e.g. after a password or role change
+  public void evictUser(String userId) {
+    cache.asMap().values().removeIf(entry -> entry.principal.getId().equals(userId));
+  }
+
+  private record Entry(UserDetailsImpl principal, long expiresAtMillis) {
+  }
+}
@@ -0,0 +1,46 @@
+package com.stationflow.backend.security.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class RateLimitConfig {
+
+  @Value("${stationflow.ratelimit.max-keys:100000}")
+  private long maxKeys;
+
+  @Value("${stationflow.ratelimit.signup-per-hour:5}")
+  private int signupPerHour;
+
+  @Value("${stationflow.ratelimit.signin-per-minute:10}")
+  private int signinPerMinute;
+
+  @Value("${stationflow.ratelimit.feedback-per-day:5}")
+  private int feedbackPerDay;
+
+  @Value("${stationflow.ratelimit.update-requests-per-day:5}")
+  private int updateRequestsPerDay;
+
+  @Bean
+  public RateLimiter rateLimiter() {
+    return new RateLimiter(List.of(
+        new RateLimitPolicy("signup", HttpMethod.POST, "/api/auth/signup", RateLimitPolicy.KeyType.IP,
+            signupPerHour, Duration.ofHours(1), false, false,
+            "Hata: Çok fazla kayıt denemesi. Lütfen daha sonra tekrar deneyiniz."),
+        new RateLimitPolicy("signin", HttpMethod.POST, "/api/auth/signin", RateLimitPolicy.KeyType.IP,
+            signinPerMinute, Duration.ofMinutes(1), false, false,
+            "Hata: Çok fazla giriş denemesi. Lütfen biraz sonra tekrar deneyiniz."),
+        new RateLimitPolicy("feedback", HttpMethod.POST, "/api/feedback", RateLimitPolicy.KeyType.IP,
+            feedbackPerDay, Duration.ofDays(1), false, true,
+            "Çok fazla geri bildirim gönderdiniz. Lütfen yarın tekrar deneyin."),
+        new RateLimitPolicy("update-request", HttpMethod.POST, "/api/stations/*/request-update", RateLimitPolicy.KeyType.USER,
+            updateRequestsPerDay, Duration.ofDays(1), true, true,
+            "Hata: Günlük " + updateRequestsPerDay + " güncelleme isteği hakkınız doldu.")
+    ), maxKeys);
+  }
+}
@@ -0,0 +1,89 @@
+package com.stationflow.backend.security.ratelimit;
+
+import com.stationflow.backend.security.services.UserDetailsImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the rate limit policies; runs after the JWT filter so user-keyed policies
+ * can see the authenticated user. Rejected requests get 429 with Retry-After. Tokens of
+ * refunding policies are given back when the request ends with a 4xx other than 429.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+  private final RateLimiter rateLimiter;
+
+  public RateLimitFilter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    List<Map.Entry<RateLimitPolicy, String>> refundable = new ArrayList<>();
+    for (RateLimitPolicy policy : rateLimiter.getPolicies()) {
+      if (!policy.matches(request)) {
+        continue;
+      }
+      String key = keyFor(policy, request);
+      if (key == null) {
+        continue;
+      }
+      long waitNanos = rateLimiter.tryAcquire(policy, key);
+      if (waitNanos > 0) {
+        logger.warn("Rate limit {} exceeded for {}", policy.getName(), key);
+        refundable.forEach(acquired -> rateLimiter.refund(acquired.getKey(), acquired.getValue()));
+        reject(response, policy, waitNanos);
+        return;
+      }
+      if (policy.isRefundClientErrors()) {
+        refundable.add(Map.entry(policy, key));
+      }
+    }
+    filterChain.doFilter(request, response);
+
+    int status = response.getStatus();
+    if (status >= 400 && status < 500 && status != 429) {
+      refundable.forEach(acquired -> rateLimiter.refund(acquired.getKey(), acquired.getValue()));
+    }
+  }
+
+  // null means the policy does not apply (anonymous request on a user policy, exempt admin)
+  private String keyFor(RateLimitPolicy policy, HttpServletRequest request) {
+    if (policy.getKeyType() == RateLimitPolicy.KeyType.IP) {
+      return request.getRemoteAddr();
+    }
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    if (auth == null || !(auth.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+      return null;
+    }
+    if (policy.isExemptAdmins() && userDetails.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+      return null;
+    }
+    return userDetails.getId();
+  }
+
+  private void reject(HttpServletResponse response, RateLimitPolicy policy, long waitNanos) throws IOException {
+    response.setStatus(429);
+    response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    response.getWriter().write("{\"message\":\"" + policy.getMessage().replace("\"", "\\\"") + "\"}");
+  }
+}
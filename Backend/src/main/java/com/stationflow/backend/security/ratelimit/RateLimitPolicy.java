@@ -0,0 +1,60 @@
+package com.stationflow.backend.security.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.time.Duration;
+
+/**
+ * One limit: at most {@code capacity} requests per {@code period} for each key (client IP
+ * or authenticated user id) on the requests matching method + path pattern. Quotas on
+ * things the user creates can refund requests rejected with a 4xx (validation, duplicates),
+ * so only saved ones count; login/signup limits never do, failed attempts are what they stop.
+ */
+public class RateLimitPolicy {
+
+  public enum KeyType {
+    IP,
+    USER
+  }
+
+  private final String name;
+  private final AntPathRequestMatcher matcher;
+  private final KeyType keyType;
+  private final int capacity;
+  private final Duration period;
+  private final boolean exemptAdmins;
+  private final boolean refundClientErrors;
+  private final String message;
+
+  public RateLimitPolicy(String name, HttpMethod method, String pattern, KeyType keyType, int capacity,
+                         Duration period, boolean exemptAdmins, boolean refundClientErrors, String message) {
+    this.name = name;
+    this.matcher = new AntPathRequestMatcher(pattern, method.name());
+    this.keyType = keyType;
+    this.capacity = capacity;
+    this.period = period;
+    this.exemptAdmins = exemptAdmins;
+    this.refundClientErrors = refundClientErrors;
+    this.message = message;
+  }
+
+  public boolean matches(HttpServletRequest request) {
+    return matcher.matches(request);
+  }
+
+  public String getName() { return name; }
+
+  public KeyType getKeyType() { return keyType; }
+
+  public int getCapacity() { return capacity; }
+
+  public Duration getPeriod() { return period; }
+
+  public boolean isExemptAdmins() { return exemptAdmins; }
+
+  public boolean isRefundClientErrors() { return refundClientErrors; }
+
+  public String getMessage() { return message; }
+}
@@ -0,0 +1,54 @@
+package com.stationflow.backend.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory buckets per (policy, key). Each policy has its own bounded store whose
+ * entries expire after one idle period; by then the bucket would be full again, so
+ * expiry never resets a limit early. Under key floods the least recently used keys are
+ * evicted first, which bounds memory at the cost of forgetting the quietest clients.
+ */
+public class RateLimiter {
+
+  private final List<RateLimitPolicy> policies;
+  private final Map<RateLimitPolicy, Cache<String, TokenBucket>> buckets;
+
+  public RateLimiter(List<RateLimitPolicy> policies, long maxKeysPerPolicy) {
+    this.policies = List.copyOf(policies);
+    this.buckets = policies.stream().collect(Collectors.toMap(Function.identity(), policy -> Caffeine.newBuilder()
+        .maximumSize(maxKeysPerPolicy)
+        .expireAfterAccess(policy.getPeriod().toNanos(), TimeUnit.NANOSECONDS)
+        .<String, TokenBucket>build()));
+  }
+
+  public List<RateLimitPolicy> getPolicies() {
+    return policies;
+  }
+
+  /**
+   * Returns 0 if allowed, otherwise how many nanoseconds until the key may retry.
+   */
+  public long tryAcquire(RateLimitPolicy policy, String key) {
+    long now = System.nanoTime();
+    TokenBucket bucket = buckets.get(policy)
+        .get(key, k -> new TokenBucket(policy.getCapacity(), policy.getPeriod().toNanos(), now));
+    return bucket.tryConsume(now);
+  }
+
+  /**
+   * Returns a token taken by tryAcquire, for requests that turned out not to count.
+   */
+  public void refund(RateLimitPolicy policy, String key) {
+    TokenBucket bucket = buckets.get(policy).getIfPresent(key);
+    if (bucket != null) {
+      bucket.refund();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.stationflow.backend.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival
+ * time" updated with a CAS, so a check is a read, some arithmetic and one compareAndSet.
+ *
+ * Each request pushes the arrival time forward by period / capacity; a request is allowed
+ * while that time stays within one period of now, which permits a burst of `capacity`
+ * and then a steady refill.
+ */
+class TokenBucket {
+
+  private final long emissionIntervalNanos;
+  private final long burstToleranceNanos;
+  private final AtomicLong theoreticalArrival;
+
+  TokenBucket(int capacity, long periodNanos, long nowNanos) {
+    this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+    this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+    this.theoreticalArrival = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Returns 0 if the request is allowed, otherwise the nanoseconds until the next token.
+   */
+  long tryConsume(long nowNanos) {
+    while (true) {
+      long tat = theoreticalArrival.get();
+      long base = Math.max(tat, nowNanos);
+      long waitNanos = base - burstToleranceNanos - nowNanos;
+      if (waitNanos > 0) {
+        return waitNanos;
+      }
+      if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Gives back one token taken by tryConsume. An arrival time that ends up in the past is
+   * the same as a full bucket, so refunds never add more than capacity.
+   */
+  void refund() {
+    theoreticalArrival.addAndGet(-emissionIntervalNanos);
+  }
+}
@@ -1,35 +1,93 @@
 package com.stationflow.backend.security.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.Map;
 
 @Service
 public class RecaptchaService {
 
-    private static final String RECAPTCHA_VERIFY_URL = "https://www.google.com/recaptcha/api/siteverify";
+    private static final Logger logger = LoggerFactory.getLogger(RecaptchaService.class);
+
     // Test Secret Key
-    @org.springframework.beans.factory.annotation.Value("${recaptcha.secret}")
+    @Value("${recaptcha.secret}")
     private String RECAPTCHA_SECRET;
 
+    private final String verifyUrl;
+
+    // One client for the whole app: connections (and their TLS sessions) are pooled and reused
+    private final RestTemplate restTemplate;
+
+    // Tokens are single-use at Google, so a retried signup would fail; reuse the first answer instead.
+    // A success only counts once: consume() flips it to false when an account is created with it.
+    private final Cache<String, Boolean> results;
+
+    public RecaptchaService(@Value("${recaptcha.verify-url:https://www.google.com/recaptcha/api/siteverify}") String verifyUrl,
+                            @Value("${recaptcha.connect-timeout-ms:2000}") long connectTimeoutMs,
+                            @Value("${recaptcha.read-timeout-ms:3000}") long readTimeoutMs,
+                            @Value("${recaptcha.result-cache-ttl-ms:120000}") long resultTtlMs,
+                            io.micrometer.core.instrument.MeterRegistry meterRegistry) {
+        this.verifyUrl = verifyUrl;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        this.results = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(resultTtlMs))
+                .recordStats()
+                .build();
+        io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics.monitor(meterRegistry, results, "recaptcha.results");
+    }
+
     public boolean verify(String token) {
         if (token == null || token.isEmpty()) {
             return false;
         }
 
-        RestTemplate restTemplate = new RestTemplate();
+        // Concurrent checks of the same token share one siteverify call
+        return Boolean.TRUE.equals(results.get(token, this::siteVerify));
+    }
+
+    /**
+     * Claims a verified token for one account. Returns false if it was never verified or is
+     * already used, so a solved captcha cannot be replayed to register more accounts.
+     */
+    public boolean consume(String token) {
+        return token != null && results.asMap().replace(token, Boolean.TRUE, Boolean.FALSE);
+    }
+
+    private Boolean siteVerify(String token) {
         MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
         map.add("secret", RECAPTCHA_SECRET);
         map.add("response", token);
 
         try {
-            Map<String, Object> response = restTemplate.postForObject(RECAPTCHA_VERIFY_URL, map, Map.class);
-            return response != null && (Boolean) response.get("success");
+            Map<String, Object> response = restTemplate.postForObject(verifyUrl, map, Map.class);
+            boolean success = response != null && Boolean.TRUE.equals(response.get("success"));
+            if (!success) {
+                logger.warn("reCAPTCHA rejected token: {}", response == null ? null : response.get("error-codes"));
+            }
+            return success;
         } catch (Exception e) {
-            e.printStackTrace();
-            return false;
+            // Not cached (null): a timeout or network error should not decide the retry
+            logger.error("reCAPTCHA verification failed: {}", e.getMessage());
+            return null;
         }
     }
 }
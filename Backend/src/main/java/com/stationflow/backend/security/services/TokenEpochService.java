@@ -0,0 +1,85 @@
+package com.stationflow.backend.security.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.stationflow.backend.repository.UserRepository;
+import com.stationflow.backend.service.ClusterEventBus;
+import com.stationflow.backend.service.EntityCacheService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Current token epoch per user, kept in memory so token checks cost no query.
+ *
+ * A token is only accepted while the epoch it was issued with is still the user's current
+ * one; revoke() bumps it, which invalidates every earlier token of that user. Other
+ * instances drop their cached value through the cluster event bus, and entries also
+ * expire after ttl-ms as a bound when the bus is off.
+ */
+@Service
+public class TokenEpochService {
+
+  public static final String USER_KIND = "user";
+
+  // Never matches a token epoch: the user no longer exists
+  private static final int MISSING_USER = -1;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ClusterEventBus clusterEventBus;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private EntityCacheService entityCacheService;
+
+  private final LoadingCache<String, Integer> epochs;
+
+  public TokenEpochService(@Value("${stationflow.jwt.epoch-cache.max-size:10000}") long maxSize,
+                           @Value("${stationflow.jwt.epoch-cache.ttl-ms:300000}") long ttlMs,
+                           io.micrometer.core.instrument.MeterRegistry meterRegistry) {
+    this.epochs = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .recordStats()
+        .expireAfterWrite(Duration.ofMillis(ttlMs))
+        .build(userId -> userRepository.findTokenEpochById(userId).orElse(MISSING_USER));
+    io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics.monitor(meterRegistry, epochs, "jwt.token-epochs");
+  }
+
+  @PostConstruct
+  public void registerClusterHandler() {
+    clusterEventBus.onRemoteEvent(USER_KIND, userIds -> {
+      epochs.invalidateAll(userIds);
+      entityCacheService.evictUsers(userIds);
+    });
+    // Revocations published while the listener was down were missed
+    clusterEventBus.onReconnect(() -> {
+      epochs.invalidateAll();
+      entityCacheService.evictAllUsers();
+    });
+  }
+
+  public boolean isCurrent(String userId, int tokenEpoch) {
+    return epochs.get(userId) == tokenEpoch;
+  }
+
+  /**
+   * Invalidates all tokens of the user issued so far and returns the new epoch.
+   */
+  public int revoke(String userId) {
+    // Commit first: invalidating earlier would let a concurrent request re-cache the old epoch
+    transactionTemplate.executeWithoutResult(status -> userRepository.incrementTokenEpoch(userId));
+    epochs.invalidate(userId);
+    clusterEventBus.publish(USER_KIND, List.of(userId));
+    return epochs.get(userId);
+  }
+}
@@ -0,0 +1,237 @@
+package com.stationflow.backend.service;
+
+import com.stationflow.backend.model.Station;
+import com.stationflow.backend.repository.StationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Fans station changes out to every backend instance through Postgres LISTEN/NOTIFY.
+ *
+ * Publishing fans out locally right away and sends a NOTIFY carrying only station ids
+ * ("kind|instanceId|id1,id2"). Other instances reload those stations and push them to
+ * their own SSE/WebSocket clients. Caches register per-kind handlers to be invalidated
+ * the same way. NOTIFYs sent while the listener is reconnecting are lost, so after a
+ * reconnect every station is reloaded and pushed again (clients only get the ones that
+ * changed) and reconnect handlers drop their caches. With stationflow.cluster.enabled=false
+ * this is a plain local fan-out.
+ */
+@Service
+public class ClusterEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterEventBus.class);
+
+    public static final String STATION_KIND = "station";
+
+    // NOTIFY payloads are limited to 8000 bytes; 36-char UUIDs leave room for ~200 ids
+    private static final int IDS_PER_NOTIFY = 150;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    @Value("${stationflow.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${stationflow.cluster.channel:stationflow_events}")
+    private String channel;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<List<String>>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> reconnectHandlers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    /**
+     * Registers a handler for ids published by other instances, e.g. to evict cached entries.
+     */
+    public void onRemoteEvent(String kind, Consumer<List<String>> handler) {
+        handlers.computeIfAbsent(kind, k -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Registers a handler run after the listener reconnects, when events may have been missed.
+     */
+    public void onReconnect(Runnable handler) {
+        reconnectHandlers.add(handler);
+    }
+
+    public void publishStationChanges(Collection<Station> stations) {
+        if (stations.isEmpty()) {
+            return;
+        }
+        notificationService.sendStationUpdates(stations);
+        publish(STATION_KIND, stations.stream().map(Station::getId).toList());
+    }
+
+    /**
+     * Sends ids to the other instances only. Inside a transaction Postgres delivers
+     * the notification on commit and drops it on rollback.
+     */
+    public void publish(String kind, List<String> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < ids.size(); from += IDS_PER_NOTIFY) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + IDS_PER_NOTIFY));
+            String payload = kind + "|" + instanceId + "|" + String.join(",", chunk);
+            try {
+                jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, payload);
+            } catch (Exception e) {
+                logger.warn("Failed to publish cluster event on {}: {}", channel, e.getMessage());
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        onRemoteEvent(STATION_KIND, this::fanOutRemoteStations);
+        onReconnect(this::resyncStations);
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cluster-event-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        logger.info("Cluster event bus listening on channel {} as instance {}", channel, instanceId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        boolean listenedBefore = false;
+        while (running) {
+            // Dedicated connection outside the pool: LISTEN is session state and must not be shared
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Listening again, so anything committed from here on is notified; catch up on the gap
+                if (listenedBefore) {
+                    resync();
+                }
+                listenedBefore = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(10000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (running) {
+                    logger.warn("Cluster event listener disconnected, retrying in {} ms: {}", RECONNECT_DELAY_MS, e.getMessage());
+                    sleepQuietly(RECONNECT_DELAY_MS);
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length < 3 || instanceId.equals(parts[1])) {
+            return; // Malformed, or our own event which was already fanned out locally
+        }
+        List<String> ids = Arrays.asList(parts[2].split(","));
+        for (Consumer<List<String>> handler : handlers.getOrDefault(parts[0], List.of())) {
+            try {
+                handler.accept(ids);
+            } catch (Exception e) {
+                logger.error("Cluster event handler failed for {}: {}", parts[0], e.getMessage());
+            }
+        }
+    }
+
+    private void resync() {
+        logger.info("Cluster event listener reconnected, resyncing");
+        for (Runnable handler : reconnectHandlers) {
+            try {
+                handler.run();
+            } catch (Exception e) {
+                logger.error("Cluster resync handler failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void resyncStations() {
+        entityCacheService.evictAllStations();
+        // NotificationService drops every station whose version was already pushed
+        notificationService.sendStationUpdates(stationRepository.findAllOnPrimary());
+    }
+
+    private void fanOutRemoteStations(List<String> ids) {
+        entityCacheService.evictStations(ids);
+        // From the primary: the NOTIFY arrives on commit, before replicas have replayed it
+        List<Station> stations = new ArrayList<>(stationRepository.findAllByIdOnPrimary(ids));
+        if (!stations.isEmpty()) {
+            notificationService.sendStationUpdates(stations);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (Exception ignored) {
+            // Listener is shutting down
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
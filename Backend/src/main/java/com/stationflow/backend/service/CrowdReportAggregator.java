@@ -0,0 +1,276 @@
+package com.stationflow.backend.service;
+
+import com.stationflow.backend.model.Station;
+import com.stationflow.backend.model.StationUpdateRequest;
+import com.stationflow.backend.repository.StationUpdateRequestRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind aggregation of crowd availability reports.
+ *
+ * Reports are kept in memory per station over a sliding window. Each flush computes a
+ * weighted median of the reported values (weight = reporter's past approval rate) and
+ * writes the consensus to the stations in one batch. Reports far from the consensus, and
+ * reports that leave the window without ever reaching a consensus, are stored as PENDING
+ * requests for admin review, so nothing is silently dropped.
+ */
+@Service
+public class CrowdReportAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrowdReportAggregator.class);
+
+    @Value("${stationflow.aggregator.enabled:false}")
+    private boolean enabled;
+
+    @Value("${stationflow.aggregator.window-ms:300000}")
+    private long windowMs;
+
+    @Value("${stationflow.aggregator.min-reports:3}")
+    private int minReports;
+
+    // Reports further than this fraction of capacity from the consensus need an admin
+    @Value("${stationflow.aggregator.outlier-tolerance:0.2}")
+    private double outlierTolerance;
+
+    @Autowired
+    private StationService stationService;
+
+    @Autowired
+    private StationUpdateRequestRepository requestRepository;
+
+    private final Map<String, StationWindow> windows = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void submit(Station station, String userId, boolean trusted, int requestedAvailable) {
+        // Under the map's lock for this station, so flush cannot drop the window in between
+        windows.compute(station.getId(), (id, existing) -> {
+            StationWindow window = existing != null ? existing : new StationWindow(station.getCapacity());
+            synchronized (window) {
+                // One vote per user per window; a newer report replaces the older one
+                window.reports.removeIf(report -> report.userId.equals(userId));
+                window.reports.add(new Report(userId, trusted, requestedAvailable));
+                window.dirty = true;
+                window.generation++;
+            }
+            return window;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${stationflow.aggregator.flush-interval-ms:60000}")
+    public void flush() {
+        if (!enabled || windows.isEmpty()) {
+            return;
+        }
+        try {
+            flush(System.currentTimeMillis() - windowMs);
+        } catch (Exception e) {
+            logger.error("Crowd report flush failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!enabled || windows.isEmpty()) {
+            return;
+        }
+        // Everything still unapplied goes to admin review instead of being lost
+        flush(Long.MAX_VALUE);
+    }
+
+    private void flush(long windowStart) {
+        // 1. Snapshot what each window needs, without changing it yet
+        Map<String, FlushBatch> batches = new HashMap<>();
+        Map<String, List<Report>> dirtyReports = new HashMap<>();
+        for (Map.Entry<String, StationWindow> entry : windows.entrySet()) {
+            StationWindow window = entry.getValue();
+            synchronized (window) {
+                FlushBatch batch = new FlushBatch(window, window.generation);
+                for (Report report : window.reports) {
+                    (report.receivedAt < windowStart ? batch.expired : batch.current).add(report);
+                }
+                if (window.dirty && batch.current.size() >= minReports) {
+                    dirtyReports.put(entry.getKey(), batch.current);
+                } else {
+                    batch.current.clear();
+                }
+                if (!batch.expired.isEmpty() || !batch.current.isEmpty()) {
+                    batches.put(entry.getKey(), batch);
+                }
+            }
+        }
+        if (batches.isEmpty()) {
+            return;
+        }
+
+        // 2. Decide consensus and review items on the snapshot
+        Map<String, Integer> consensus = new HashMap<>();
+        List<StationUpdateRequest> forReview = new ArrayList<>();
+        Map<String, Double> weights = reporterWeights(dirtyReports);
+        for (Map.Entry<String, FlushBatch> entry : batches.entrySet()) {
+            FlushBatch batch = entry.getValue();
+            for (Report report : batch.expired) {
+                if (!report.applied) {
+                    forReview.add(toRequest(entry.getKey(), report));
+                }
+            }
+            if (batch.current.isEmpty()) {
+                continue;
+            }
+            int median = weightedMedian(new ArrayList<>(batch.current), weights);
+            double tolerance = Math.max(1, batch.window.capacity * outlierTolerance);
+            for (Report report : batch.current) {
+                if (Math.abs(report.value - median) > tolerance) {
+                    batch.outliers.add(report);
+                    forReview.add(toRequest(entry.getKey(), report));
+                }
+            }
+            consensus.put(entry.getKey(), median);
+        }
+
+        // 3. Write; if this throws nothing below runs and the next flush retries the same reports
+        if (!consensus.isEmpty() || !forReview.isEmpty()) {
+            stationService.applyCrowdConsensus(consensus, forReview);
+        }
+
+        // 4. Only now take the written reports out of the windows
+        for (Map.Entry<String, FlushBatch> entry : batches.entrySet()) {
+            FlushBatch batch = entry.getValue();
+            StationWindow window = batch.window;
+            synchronized (window) {
+                Set<Report> done = java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<>());
+                done.addAll(batch.expired);
+                done.addAll(batch.outliers);
+                window.reports.removeIf(done::contains);
+                batch.current.forEach(report -> report.applied = true);
+                // Reports submitted after the snapshot still need the next flush
+                if (!batch.current.isEmpty() && window.generation == batch.generation) {
+                    window.dirty = false;
+                }
+            }
+            removeIfEmpty(entry.getKey());
+        }
+        if (!consensus.isEmpty() || !forReview.isEmpty()) {
+            logger.info("Crowd reports flushed: {} stations updated, {} reports sent to review", consensus.size(), forReview.size());
+        }
+    }
+
+    // Same per-key lock as submit: a report is either in the window before this check or
+    // lands in a fresh window after it, never in a removed one
+    private void removeIfEmpty(String stationId) {
+        windows.computeIfPresent(stationId, (id, window) -> {
+            synchronized (window) {
+                return window.reports.isEmpty() ? null : window;
+            }
+        });
+    }
+
+    // Laplace-smoothed approval rate from past requests; trusted (admin) reporters count fully
+    private Map<String, Double> reporterWeights(Map<String, List<Report>> reportsByStation) {
+        Set<String> userIds = new HashSet<>();
+        reportsByStation.values().forEach(reports -> reports.forEach(report -> userIds.add(report.userId)));
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, long[]> history = new HashMap<>();
+        for (Object[] row : requestRepository.countByUserIdInGroupByStatus(userIds)) {
+            long[] counts = history.computeIfAbsent((String) row[0], id -> new long[2]);
+            StationUpdateRequest.RequestStatus status = (StationUpdateRequest.RequestStatus) row[1];
+            if (status == StationUpdateRequest.RequestStatus.APPROVED) counts[0] += (Long) row[2];
+            else if (status == StationUpdateRequest.RequestStatus.REJECTED) counts[1] += (Long) row[2];
+        }
+
+        Map<String, Double> weights = new HashMap<>();
+        for (String userId : userIds) {
+            long[] counts = history.getOrDefault(userId, new long[2]);
+            weights.put(userId, (counts[0] + 1.0) / (counts[0] + counts[1] + 2.0));
+        }
+        return weights;
+    }
+
+    private int weightedMedian(List<Report> reports, Map<String, Double> weights) {
+        reports.sort(Comparator.comparingInt(report -> report.value));
+        double total = 0;
+        double[] reportWeights = new double[reports.size()];
+        for (int i = 0; i < reports.size(); i++) {
+            Report report = reports.get(i);
+            reportWeights[i] = report.trusted ? 1.0 : weights.getOrDefault(report.userId, 0.5);
+            total += reportWeights[i];
+        }
+
+        double cumulative = 0;
+        for (int i = 0; i < reports.size(); i++) {
+            cumulative += reportWeights[i];
+            if (cumulative >= total / 2) {
+                return reports.get(i).value;
+            }
+        }
+        return reports.get(reports.size() - 1).value;
+    }
+
+    private StationUpdateRequest toRequest(String stationId, Report report) {
+        StationUpdateRequest request = new StationUpdateRequest(stationId, report.userId, report.value);
+        request.setCreatedAt(report.reportedAt);
+        return request;
+    }
+
+    private static class StationWindow {
+        final int capacity;
+        final List<Report> reports = new ArrayList<>();
+        boolean dirty;
+        // Bumped by every submit, so a flush can tell whether reports arrived meanwhile
+        long generation;
+
+        StationWindow(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    // One window's part of a flush: expired and current reports as of the snapshot
+    private static class FlushBatch {
+        final StationWindow window;
+        final long generation;
+        final List<Report> expired = new ArrayList<>();
+        final List<Report> current = new ArrayList<>();
+        final List<Report> outliers = new ArrayList<>();
+
+        FlushBatch(StationWindow window, long generation) {
+            this.window = window;
+            this.generation = generation;
+        }
+    }
+
+    private static class Report {
+        final String userId;
+        final boolean trusted;
+        final int value;
+        final long receivedAt = System.currentTimeMillis();
+        final LocalDateTime reportedAt = LocalDateTime.now();
+        boolean applied;
+
+        Report(String userId, boolean trusted, int value) {
+            this.userId = userId;
+            this.trusted = trusted;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.stationflow.backend.service;
+
+import com.stationflow.backend.model.Station;
+import com.stationflow.backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Evicts second-level cache entries that Hibernate cannot see change: rows written with
+ * plain JDBC and rows changed by other instances (through the cluster event bus).
+ */
+@Service
+public class EntityCacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evictStations(Collection<String> ids) {
+        evict(Station.class, ids);
+    }
+
+    public void evictUsers(Collection<String> ids) {
+        evict(User.class, ids);
+    }
+
+    public void evictAllStations() {
+        entityManagerFactory.getCache().evict(Station.class);
+    }
+
+    public void evictAllUsers() {
+        entityManagerFactory.getCache().evict(User.class);
+    }
+
+    /**
+     * Evicts once the current transaction has ended, so a concurrent read cannot put the
+     * old row back in between; evicts right away when there is no transaction.
+     */
+    public void evictStationAfterCommit(String id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(Station.class, java.util.List.of(id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(Station.class, java.util.List.of(id));
+            }
+        });
+    }
+
+    private void evict(Class<?> entityClass, Collection<String> ids) {
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        for (String id : ids) {
+            cache.evict(entityClass, id);
+        }
+    }
+}
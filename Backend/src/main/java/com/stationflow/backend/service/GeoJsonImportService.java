@@ -20,29 +20,50 @@ public class GeoJsonImportService {
     @Autowired
     private StationService stationService;
 
+    @Autowired
+    private io.micrometer.core.instrument.MeterRegistry meterRegistry;
+
+    // Rows/s is the rate of stationflow.import.geojson.rows{outcome="imported"}
     public List<Station> importStations(java.io.InputStream inputStream, TransportType defaultType) throws IOException {
+        io.micrometer.core.instrument.Timer.Sample sample = io.micrometer.core.instrument.Timer.start(meterRegistry);
+        int skipped = 0;
+        List<Station> stations = new ArrayList<>();
+        try {
+            skipped = importFeatures(inputStream, defaultType, stations);
+        } finally {
+            sample.stop(meterRegistry.timer("stationflow.import.geojson"));
+            meterRegistry.counter("stationflow.import.geojson.rows", "outcome", "imported").increment(stations.size());
+            meterRegistry.counter("stationflow.import.geojson.rows", "outcome", "skipped").increment(skipped);
+        }
+        return stations;
+    }
+
+    // Returns the number of features that were skipped
+    private int importFeatures(java.io.InputStream inputStream, TransportType defaultType, List<Station> stations) throws IOException {
         ObjectMapper mapper = new ObjectMapper();
         JsonNode root = mapper.readTree(inputStream);
         JsonNode features = root.path("features");
 
-        List<Station> stations = new ArrayList<>();
-
+        int skipped = 0;
         if (features.isArray()) {
             for (JsonNode feature : features) {
                 Station station = parseFeature(feature, defaultType);
                 if (station != null) {
                     stations.add(stationService.createStation(station));
+                } else {
+                    skipped++;
                 }
             }
         }
-        return stations;
+        return skipped;
     }
 
     public List<Station> importStations(MultipartFile file, TransportType defaultType) throws IOException {
         return importStations(file.getInputStream(), defaultType);
     }
 
-    private Station parseFeature(JsonNode feature, TransportType defaultType) {
+    // Package-private for the benchmarks (Backend/benchmarks)
+    Station parseFeature(JsonNode feature, TransportType defaultType) {
         try {
             JsonNode geometry = feature.path("geometry");
             JsonNode properties = feature.path("properties");
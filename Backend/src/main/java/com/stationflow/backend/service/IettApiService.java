@@ -29,10 +29,17 @@ public class IettApiService {
     @Autowired
     private StationRepository stationRepository;
 
-    private final String API_URL = "https://api.ibb.gov.tr/iett/UlasimAnaVeri/HatDurakGuzergah.asmx?wsdl";
+    @Autowired
+    private io.micrometer.core.instrument.MeterRegistry meterRegistry;
+
+    // stationflow.iett.stub.enabled serves a local stand-in at /api/test/iett (IettStubController)
+    @org.springframework.beans.factory.annotation.Value("${stationflow.iett.api-url:https://api.ibb.gov.tr/iett/UlasimAnaVeri/HatDurakGuzergah.asmx?wsdl}")
+    private String apiUrl;
 
     public void fetchAndSaveStations() {
         System.out.println("Fetching IETT stations...");
+        io.micrometer.core.instrument.Timer.Sample sample = io.micrometer.core.instrument.Timer.start(meterRegistry);
+        String outcome = "failure";
         try {
             String soapRequest =
                     "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n" +
@@ -52,10 +59,12 @@ public class IettApiService {
 
             HttpEntity<String> request = new HttpEntity<>(soapRequest, headers);
             RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<String> response = restTemplate.postForEntity(API_URL, request, String.class);
+            ResponseEntity<String> response = restTemplate.postForEntity(apiUrl, request, String.class);
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                parseAndSave(response.getBody());
+                if (parseAndSave(response.getBody())) {
+                    outcome = "success";
+                }
             } else {
                 System.err.println("Failed to fetch IETT data. Status: " + response.getStatusCode());
             }
@@ -63,10 +72,32 @@ public class IettApiService {
         } catch (Exception e) {
             System.err.println("Error fetching IETT data: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            sample.stop(meterRegistry.timer("stationflow.iett.fetch", "outcome", outcome));
+        }
+    }
+
+    /**
+     * Parses a WKT point, "POINT (29.0123 41.0123)" (lng lat), into {lat, lng}. Returns null
+     * if the value is not a point; a point with missing numbers gives {0, 0} as before.
+     */
+    static double[] parseWktPoint(String koordinat) {
+        if (koordinat == null || !koordinat.startsWith("POINT")) {
+            return null;
+        }
+        double lat = 0;
+        double lng = 0;
+        String clean = koordinat.replace("POINT", "").replace("(", "").replace(")", "").trim();
+        String[] parts = clean.split("\\s+"); // Split by whitespace
+        if (parts.length >= 2) {
+            lng = Double.parseDouble(parts[0]);
+            lat = Double.parseDouble(parts[1]);
         }
+        return new double[] { lat, lng };
     }
 
-    private void parseAndSave(String xmlResponse) {
+    // Returns false if the response could not be parsed
+    private boolean parseAndSave(String xmlResponse) {
         try {
             // 1. Parse XML to get the JSON string inside <GetDurak_jsonResult>
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
@@ -92,22 +123,13 @@ public class IettApiService {
                         // Actually, IETT often returns "KOORDINAT" as WKT "POINT(lng lat)".
                         
                         // Let's check if there are separate fields first.
-                        double lat = 0;
-                        double lng = 0;
-
-                        String koordinat = node.path("KOORDINAT").asText();
-                        if (koordinat != null && koordinat.startsWith("POINT")) {
-                            // Parse WKT: POINT (29.0123 41.0123)
-                            String clean = koordinat.replace("POINT", "").replace("(", "").replace(")", "").trim();
-                            String[] parts = clean.split("\\s+"); // Split by whitespace
-                            if (parts.length >= 2) {
-                                lng = Double.parseDouble(parts[0]);
-                                lat = Double.parseDouble(parts[1]);
-                            }
-                        } else {
+                        double[] latLng = parseWktPoint(node.path("KOORDINAT").asText());
+                        if (latLng == null) {
                              // Fallback or skip if no coordinate
                              continue;
                         }
+                        double lat = latLng[0];
+                        double lng = latLng[1];
 
                         // Check duplicates
                         if (stationRepository.existsByLocationLatAndLocationLng(lat, lng)) {
@@ -132,10 +154,13 @@ public class IettApiService {
                 }
             }
             System.out.println("Imported " + newStationsCount + " new stations from IETT.");
+            meterRegistry.counter("stationflow.iett.stations.imported").increment(newStationsCount);
+            return true;
 
         } catch (Exception e) {
             System.err.println("Error parsing IETT response: " + e.getMessage());
             e.printStackTrace();
+            return false;
         }
     }
 }
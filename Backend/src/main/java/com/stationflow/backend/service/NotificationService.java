@@ -1,61 +1,269 @@
 package com.stationflow.backend.service;
 
+import com.stationflow.backend.model.Location;
 import com.stationflow.backend.model.Station;
+import com.stationflow.backend.model.StationStatus;
+import com.stationflow.backend.model.TransportType;
+import com.stationflow.backend.payload.response.StationDiff;
+import com.stationflow.backend.websocket.StationDeltaWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class NotificationService {
 
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(NotificationService.class);
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    // Default subscribers get "station-diff" events, opted-in ones get full "station-update" events
+    private final List<SseEmitter> diffEmitters = new CopyOnWriteArrayList<>();
+    private final List<SseEmitter> fullEmitters = new CopyOnWriteArrayList<>();
+
+    // Last state pushed per station, used to compute field-level diffs and drop stale ones
+    private final Map<String, StationState> lastSent = new ConcurrentHashMap<>();
+
+    @Autowired
+    private StationDeltaWebSocketHandler deltaWebSocketHandler;
+
+    @Autowired
+    private io.micrometer.core.instrument.MeterRegistry meterRegistry;
+
+    @org.springframework.beans.factory.annotation.Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Single dispatcher keeps events in order and off the request thread. In virtual-thread
+    // mode each event is written to all emitters in parallel, one virtual thread per emitter.
+    private ExecutorService dispatcher;
+    private ExecutorService emitterWriters;
+
+    @jakarta.annotation.PostConstruct
+    public void startDispatcher() {
+        io.micrometer.core.instrument.Gauge.builder("stationflow.sse.emitters", diffEmitters, List::size)
+                .tag("mode", "diff").description("Connected SSE subscribers").register(meterRegistry);
+        io.micrometer.core.instrument.Gauge.builder("stationflow.sse.emitters", fullEmitters, List::size)
+                .tag("mode", "full").description("Connected SSE subscribers").register(meterRegistry);
+
+        if (virtualThreads) {
+            dispatcher = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("sse-dispatcher").factory());
+            emitterWriters = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-writer-", 0).factory());
+        } else {
+            dispatcher = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("sse-dispatcher").daemon().factory());
+        }
+    }
+
+    @jakarta.annotation.PreDestroy
+    public void stopDispatcher() {
+        dispatcher.shutdownNow();
+        if (emitterWriters != null) {
+            emitterWriters.shutdownNow();
+        }
+    }
 
     public SseEmitter subscribe() {
+        return subscribe(false);
+    }
+
+    public SseEmitter subscribe(boolean fullState) {
         // Set a long timeout (e.g., 30 minutes) or 0 for infinite (but be careful with resources)
-        SseEmitter emitter = new SseEmitter(30 * 60 * 1000L); 
-        
+        SseEmitter emitter = new SseEmitter(30 * 60 * 1000L);
+        List<SseEmitter> emitters = fullState ? fullEmitters : diffEmitters;
+
         emitters.add(emitter);
 
         emitter.onCompletion(() -> emitters.remove(emitter));
         emitter.onTimeout(() -> emitters.remove(emitter));
         emitter.onError((e) -> emitters.remove(emitter));
 
+        // A comment line (ignored by EventSource) so the response is committed right away
+        // instead of with the first event or heartbeat
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (java.io.IOException e) {
+            emitters.remove(emitter);
+        }
+
         return emitter;
     }
 
     public void sendStationUpdate(Station station) {
-        List<SseEmitter> deadEmitters = new ArrayList<>();
-        emitters.forEach(emitter -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("station-update")
-                        .data(station));
-            } catch (Exception e) {
-                deadEmitters.add(emitter);
-                logger.debug("Failed to send station update, removing emitter: {}", e.getMessage());
+        sendStationUpdates(List.of(station));
+    }
+
+    /**
+     * Pushes a set of changed stations. Diff subscribers receive one "station-diff"
+     * event carrying a list of {id, version, changes}; full-state subscribers receive
+     * one "station-update" event per station. The version is the station's own @Version,
+     * and a state that is not newer than the last one pushed is dropped, so callers racing
+     * each other cannot make clients step back.
+     */
+    public void sendStationUpdates(Collection<Station> stations) {
+        // Copy the fields now, the entities may change before the dispatcher gets to them
+        List<Station> snapshot = List.copyOf(stations);
+        List<StationState> states = snapshot.stream().map(StationState::of).toList();
+
+        dispatch(() -> {
+            // Compared and recorded on the dispatcher thread, in the order events go out
+            List<StationDiff> diffs = new ArrayList<>(states.size());
+            List<Station> newer = new ArrayList<>(states.size());
+            for (int i = 0; i < states.size(); i++) {
+                StationState state = states.get(i);
+                StationState previous = advance(snapshot.get(i).getId(), state);
+                if (previous == state) {
+                    continue; // Already sent this version or a later one
+                }
+                newer.add(snapshot.get(i));
+                Map<String, Object> changes = state.changesSince(previous);
+                if (!changes.isEmpty()) {
+                    diffs.add(new StationDiff(snapshot.get(i).getId(), state.version(), changes));
+                }
+            }
+
+            if (!diffs.isEmpty()) {
+                send(diffEmitters, "station-diff", diffs);
+            }
+            for (Station station : newer) {
+                send(fullEmitters, "station-update", station);
+            }
+
+            // Same change as a binary delta frame for WebSocket clients
+            if (!newer.isEmpty()) {
+                deltaWebSocketHandler.broadcast(newer);
             }
         });
-        emitters.removeAll(deadEmitters);
     }
 
     @org.springframework.scheduling.annotation.Scheduled(fixedRate = 30000) // 30 seconds
     public void sendHeartbeat() {
-        List<SseEmitter> deadEmitters = new ArrayList<>();
-        emitters.forEach(emitter -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("heartbeat")
-                        .data("ping"));
-            } catch (Exception e) {
-                deadEmitters.add(emitter);
-                logger.debug("Failed to send heartbeat, removing emitter: {}", e.getMessage());
-            }
+        dispatch(() -> {
+            send(diffEmitters, "heartbeat", "ping");
+            send(fullEmitters, "heartbeat", "ping");
         });
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    logger.error("SSE fan-out failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("SSE dispatcher is shut down, dropping event");
+        }
+    }
+
+    // stationflow.sse.fanout{event} is the time to write one event to every emitter (heartbeat included)
+    private void send(List<SseEmitter> emitters, String eventName, Object data) {
+        io.micrometer.core.instrument.Timer.Sample sample = io.micrometer.core.instrument.Timer.start(meterRegistry);
+        try {
+            sendToAll(emitters, eventName, data);
+        } finally {
+            sample.stop(meterRegistry.timer("stationflow.sse.fanout", "event", eventName));
+        }
+    }
+
+    private void sendToAll(List<SseEmitter> emitters, String eventName, Object data) {
+        List<SseEmitter> deadEmitters = new CopyOnWriteArrayList<>();
+        if (emitterWriters == null) {
+            emitters.forEach(emitter -> sendTo(emitter, eventName, data, deadEmitters));
+        } else {
+            List<Future<?>> writes = new ArrayList<>(emitters.size());
+            emitters.forEach(emitter -> writes.add(emitterWriters.submit(() -> sendTo(emitter, eventName, data, deadEmitters))));
+            // Wait for every write so the next event cannot overtake this one on any emitter
+            for (Future<?> write : writes) {
+                try {
+                    write.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    logger.debug("SSE write failed: {}", e.getMessage());
+                }
+            }
+        }
         emitters.removeAll(deadEmitters);
+        if (!deadEmitters.isEmpty()) {
+            meterRegistry.counter("stationflow.sse.emitters.removed").increment(deadEmitters.size());
+        }
+    }
+
+    private void sendTo(SseEmitter emitter, String eventName, Object data, List<SseEmitter> deadEmitters) {
+        long start = System.nanoTime();
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(eventName)
+                    .data(data));
+            meterRegistry.timer("stationflow.sse.send", "event", eventName)
+                    .record(System.nanoTime() - start, java.util.concurrent.TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            deadEmitters.add(emitter);
+            logger.debug("Failed to send {}, removing emitter: {}", eventName, e.getMessage());
+        }
+    }
+
+    // Records state as the last one sent if its version is newer. Returns the state it
+    // replaced (null for the first one), or state itself when it was dropped as stale.
+    private StationState advance(String stationId, StationState state) {
+        StationState[] previous = { state };
+        lastSent.compute(stationId, (id, old) -> {
+            if (old != null && old.version() >= state.version()) {
+                return old;
+            }
+            previous[0] = old;
+            return state;
+        });
+        return previous[0];
+    }
+
+    private record StationState(long version, String name, TransportType type, Location location, int capacity,
+                                int available, StationStatus status, LocalDateTime lastUpdate, boolean custom,
+                                String ownerId) {
+
+        static StationState of(Station station) {
+            Location location = station.getLocation() == null ? null
+                    : new Location(station.getLocation().getLat(), station.getLocation().getLng());
+            return new StationState(station.getVersion(), station.getName(), station.getType(), location,
+                    station.getCapacity(), station.getAvailable(), station.getStatus(), station.getLastUpdate(),
+                    station.isCustom(), station.getOwnerId());
+        }
+
+        // Field names match the serialized Station so clients can merge the map as-is
+        Map<String, Object> changesSince(StationState old) {
+            Map<String, Object> changes = new LinkedHashMap<>();
+            if (old == null || !Objects.equals(old.name, name)) changes.put("name", name);
+            if (old == null || !Objects.equals(old.type, type)) changes.put("type", type);
+            if (old == null || !sameLocation(old.location, location)) changes.put("location", location);
+            if (old == null || old.capacity != capacity) changes.put("capacity", capacity);
+            if (old == null || old.available != available) changes.put("available", available);
+            if (old == null || !Objects.equals(old.status, status)) changes.put("status", status);
+            if (old == null || !Objects.equals(old.lastUpdate, lastUpdate)) changes.put("lastUpdate", lastUpdate);
+            if (old == null || old.custom != custom) changes.put("custom", custom);
+            if (old == null || !Objects.equals(old.ownerId, ownerId)) changes.put("ownerId", ownerId);
+            return changes;
+        }
+
+        private static boolean sameLocation(Location a, Location b) {
+            if (a == null || b == null) {
+                return a == b;
+            }
+            return a.getLat() == b.getLat() && a.getLng() == b.getLng();
+        }
     }
 }
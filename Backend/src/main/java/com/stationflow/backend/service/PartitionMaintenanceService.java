@@ -0,0 +1,241 @@
+package com.stationflow.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Monthly range partitioning on created_at for the append-only tables.
+ *
+ * On startup a plain table is converted once into a partitioned one (rows are copied
+ * over, the primary key becomes (id, created_at) because Postgres requires the partition
+ * key in it). Maintenance keeps partitions created a few months ahead and, if a retention
+ * is configured, detaches, drops or archives (gzip CSV) partitions past it. Partitions are
+ * named {table}_pYYYY_MM, which is how their month is recognised.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    // Only one instance converts/maintains at a time ("PARTMNT")
+    private static final long MAINTENANCE_LOCK_KEY = 0x50_4152_544D_4E54L;
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyy_MM");
+
+    // Table -> indexes to recreate on the partitioned table (same as db/migration V3__hot_query_indexes.sql)
+    private static final Map<String, List<String>> PARTITIONED_TABLES = Map.of(
+            "station_update_requests", List.of(
+                    "CREATE INDEX IF NOT EXISTS idx_update_requests_status_created_at_id ON station_update_requests (status, created_at, id)",
+                    "CREATE INDEX IF NOT EXISTS idx_update_requests_user_created_at_id ON station_update_requests (user_id, created_at, id)",
+                    "CREATE INDEX IF NOT EXISTS idx_update_requests_station_status ON station_update_requests (station_id, status)"),
+            "feedback", List.of(
+                    "CREATE INDEX IF NOT EXISTS idx_feedback_created_at_id ON feedback (created_at, id)"));
+
+    public enum RetentionMode {
+        DETACH,
+        DROP,
+        ARCHIVE
+    }
+
+    @Value("${stationflow.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${stationflow.partitioning.premake-months:3}")
+    private int premakeMonths;
+
+    // 0 keeps every partition
+    @Value("${stationflow.partitioning.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${stationflow.partitioning.retention-mode:DETACH}")
+    private RetentionMode retentionMode;
+
+    @Value("${stationflow.partitioning.archive-dir:archive}")
+    private String archiveDir;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Forces the Flyway migrations to run before the tables are converted
+    @Autowired
+    private org.flywaydb.core.Flyway flyway;
+
+    @PostConstruct
+    public void convertTables() {
+        if (!enabled) {
+            return;
+        }
+        for (String table : PARTITIONED_TABLES.keySet()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (tryLock() && "r".equals(relationKind(table))) {
+                    convert(table);
+                }
+            });
+        }
+        maintain();
+    }
+
+    /**
+     * Creates the upcoming monthly partitions and applies the retention policy.
+     */
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        for (String table : PARTITIONED_TABLES.keySet()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (tryLock() && "p".equals(relationKind(table))) {
+                    YearMonth current = YearMonth.now();
+                    createPartitions(table, current, current.plusMonths(premakeMonths));
+                    if (retentionMonths > 0) {
+                        applyRetention(table, current.minusMonths(retentionMonths));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Creates partitions covering the given months (and the usual premade ones), for bulk loads
+     * of rows that are back-dated or anchored to a fixed date.
+     */
+    public void createPartitionsBetween(YearMonth from, YearMonth to) {
+        if (!enabled) {
+            return;
+        }
+        YearMonth premade = YearMonth.now().plusMonths(premakeMonths);
+        YearMonth last = to.isAfter(premade) ? to : premade;
+        for (String table : PARTITIONED_TABLES.keySet()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (tryLock() && "p".equals(relationKind(table))) {
+                    createPartitions(table, from, last);
+                }
+            });
+        }
+    }
+
+    private boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY));
+    }
+
+    // 'r' plain table, 'p' partitioned table, null if missing
+    private String relationKind(String table) {
+        List<String> kinds = jdbcTemplate.queryForList("SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, table);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    private void convert(String table) {
+        String legacy = table + "_unpartitioned";
+        jdbcTemplate.execute("ALTER TABLE " + table + " RENAME TO " + legacy);
+        jdbcTemplate.execute("UPDATE " + legacy + " SET created_at = now() WHERE created_at IS NULL");
+        jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE " + legacy + " INCLUDING DEFAULTS) PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN created_at SET NOT NULL");
+
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT min(created_at) FROM " + legacy, Timestamp.class);
+        YearMonth from = oldest == null ? YearMonth.now() : YearMonth.from(oldest.toLocalDateTime());
+        createPartitions(table, from, YearMonth.now().plusMonths(premakeMonths));
+
+        int copied = jdbcTemplate.update("INSERT INTO " + table + " SELECT * FROM " + legacy);
+        jdbcTemplate.execute("DROP TABLE " + legacy);
+
+        // Index and constraint names are free again only after the old table is gone
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + table + "_pkey PRIMARY KEY (id, created_at)");
+        PARTITIONED_TABLES.get(table).forEach(jdbcTemplate::execute);
+        logger.info("Converted {} to monthly partitions ({} rows copied)", table, copied);
+    }
+
+    private void createPartitions(String table, YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, month) + " PARTITION OF " + table +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    private void applyRetention(String table, YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname", String.class, table);
+
+        List<String> expired = new ArrayList<>();
+        for (String partition : partitions) {
+            YearMonth month = monthOf(table, partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                expired.add(partition);
+            }
+        }
+
+        for (String partition : expired) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            if (retentionMode == RetentionMode.ARCHIVE) {
+                archive(partition);
+            }
+            if (retentionMode != RetentionMode.DETACH) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+            logger.info("Retention: {} partition {} ({})", table, partition, retentionMode);
+        }
+    }
+
+    // COPY the partition into {archive-dir}/{partition}.csv.gz; the file only appears once complete
+    private void archive(String partition) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            Path dir = Files.createDirectories(Path.of(archiveDir));
+            Path target = dir.resolve(partition + ".csv.gz");
+            Path temp = dir.resolve(partition + ".csv.gz.tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyOut("COPY " + partition + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | java.sql.SQLException e) {
+            // Rolls back the detach too, so nothing is dropped without its archive
+            throw new IllegalStateException("Failed to archive partition " + partition + ": " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static String partitionName(String table, YearMonth month) {
+        return table + month.atDay(1).format(SUFFIX);
+    }
+
+    private static YearMonth monthOf(String table, String partition) {
+        String suffix = partition.substring(table.length());
+        try {
+            return YearMonth.from(LocalDate.parse(suffix + "_01", DateTimeFormatter.ofPattern("'_p'yyyy_MM_dd")));
+        } catch (RuntimeException e) {
+            return null; // Not one of ours
+        }
+    }
+}
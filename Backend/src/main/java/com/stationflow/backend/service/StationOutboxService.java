@@ -0,0 +1,71 @@
+package com.stationflow.backend.service;
+
+import com.stationflow.backend.model.Station;
+import com.stationflow.backend.model.StationOutboxEvent;
+import com.stationflow.backend.repository.StationOutboxRepository;
+import com.stationflow.backend.repository.StationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class StationOutboxService {
+
+    private static final long RELAY_LOCK_KEY = 0x5354_4F55_5442_4F58L; // "STOUTBOX"
+
+    @Autowired
+    private StationOutboxRepository outboxRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private ClusterEventBus clusterEventBus;
+
+    @Value("${stationflow.outbox.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Publishes the oldest committed outbox events as one batch and deletes them.
+     * Returns the number of events relayed, 0 when idle or another instance holds the relay lock.
+     * Delivery is at-least-once: if the delete fails to commit the batch is published again.
+     */
+    @Transactional
+    public int relayNextBatch() {
+        if (!outboxRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+
+        List<StationOutboxEvent> events = outboxRepository.findNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Several events for one station collapse into its current state, in first-seen order
+        Set<String> stationIds = new LinkedHashSet<>();
+        events.forEach(event -> stationIds.add(event.getStationId()));
+        Map<String, Station> stationsById = stationRepository.findAllById(stationIds).stream()
+                .collect(Collectors.toMap(Station::getId, Function.identity()));
+
+        List<Station> stations = new ArrayList<>(stationIds.size());
+        for (String stationId : stationIds) {
+            Station station = stationsById.get(stationId);
+            if (station != null) {
+                stations.add(station);
+            }
+        }
+
+        clusterEventBus.publishStationChanges(stations);
+        outboxRepository.deleteAllInBatch(events);
+        return events.size();
+    }
+}
@@ -1,12 +1,25 @@
 package com.stationflow.backend.service;
 
 import com.stationflow.backend.model.Station;
+import com.stationflow.backend.model.StationOutboxEvent;
+import com.stationflow.backend.model.StationStatus;
+import com.stationflow.backend.model.StationUpdateRequest;
+import com.stationflow.backend.payload.request.BulkRequestAction;
+import com.stationflow.backend.payload.response.BulkActionResponse;
+import com.stationflow.backend.repository.StationOutboxRepository;
 import com.stationflow.backend.repository.StationRepository;
+import com.stationflow.backend.repository.StationUpdateRequestRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class StationService {
@@ -14,6 +27,50 @@ public class StationService {
     @Autowired
     private StationRepository stationRepository;
 
+    @Autowired
+    private StationUpdateRequestRepository requestRepository;
+
+    @Autowired
+    private StationOutboxRepository outboxRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private org.springframework.transaction.support.TransactionTemplate transactionTemplate;
+
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
+    // One round-trip: no entity load, no full-row write. RETURNING gives the new version.
+    private static final String UPDATE_AVAILABILITY_SQL =
+            "UPDATE stations SET available = :available, status = " + StationRepository.STATUS_FOR_NEW_AVAILABLE + ", " +
+            "version = version + 1, last_update = :now " +
+            "WHERE id = :id AND :available <= capacity AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion) " +
+            "RETURNING version";
+
+    public enum ApprovalResult {
+        APPROVED,
+        REJECTED,
+        REQUEST_NOT_FOUND,
+        ALREADY_PROCESSED,
+        STATION_NOT_FOUND,
+        OVER_CAPACITY
+    }
+
+    public enum AvailabilityUpdateStatus {
+        UPDATED,
+        NOT_FOUND,
+        OVER_CAPACITY,
+        VERSION_CONFLICT
+    }
+
+    public record AvailabilityUpdate(AvailabilityUpdateStatus status, long version) {
+    }
+
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<Station> getAllStations() {
         return stationRepository.findAll();
     }
@@ -22,6 +79,7 @@ public class StationService {
         return stationRepository.save(station);
     }
 
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public Optional<Station> getStationById(String id) {
         return stationRepository.findById(id);
     }
@@ -34,4 +92,187 @@ public class StationService {
     public void deleteStationsByType(com.stationflow.backend.model.TransportType type) {
         stationRepository.deleteByTypeAndIsCustomFalse(type);
     }
+
+    /**
+     * Applies a pending update request. The station, the request and the outbox event
+     * commit together; clients are notified by the outbox relay after commit.
+     */
+    @org.springframework.transaction.annotation.Transactional
+    public ApprovalResult approveRequest(String requestId) {
+        StationUpdateRequest request = requestRepository.findById(requestId).orElse(null);
+        if (request == null) {
+            return ApprovalResult.REQUEST_NOT_FOUND;
+        }
+        if (request.getStatus() != StationUpdateRequest.RequestStatus.PENDING) {
+            return ApprovalResult.ALREADY_PROCESSED;
+        }
+
+        // Claim the request first so two admins approving at once cannot both apply it
+        if (requestRepository.transitionStatus(requestId, StationUpdateRequest.RequestStatus.PENDING,
+                StationUpdateRequest.RequestStatus.APPROVED) == 0) {
+            return ApprovalResult.ALREADY_PROCESSED;
+        }
+
+        AvailabilityUpdate update = applyAvailabilityUpdate(request.getStationId(), request.getRequestedAvailable(), null);
+        if (update.status() != AvailabilityUpdateStatus.UPDATED) {
+            org.springframework.transaction.interceptor.TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return update.status() == AvailabilityUpdateStatus.NOT_FOUND ? ApprovalResult.STATION_NOT_FOUND : ApprovalResult.OVER_CAPACITY;
+        }
+
+        return ApprovalResult.APPROVED;
+    }
+
+    /**
+     * Rejects a pending request with a conditional UPDATE on the primary, so a stale read
+     * (e.g. from a replica) cannot overwrite an approval made a moment ago.
+     */
+    @org.springframework.transaction.annotation.Transactional
+    public ApprovalResult rejectRequest(String requestId) {
+        if (requestRepository.transitionStatus(requestId, StationUpdateRequest.RequestStatus.PENDING,
+                StationUpdateRequest.RequestStatus.REJECTED) > 0) {
+            return ApprovalResult.REJECTED;
+        }
+        return requestRepository.existsById(requestId) ? ApprovalResult.ALREADY_PROCESSED : ApprovalResult.REQUEST_NOT_FOUND;
+    }
+
+    /**
+     * Approves or rejects many pending requests in one transaction. Every request is claimed
+     * with the same conditional UPDATE as the single approve/reject, so one another admin
+     * processed in the meantime is skipped, never overwritten or applied twice. Per station
+     * the newest request that fits the capacity is applied (over-capacity ones are rejected);
+     * the older ones are marked REJECTED as superseded.
+     */
+    @org.springframework.transaction.annotation.Transactional
+    public BulkActionResponse processRequests(List<String> requestIds, BulkRequestAction.Action action) {
+        Set<String> ids = new LinkedHashSet<>(requestIds);
+        if (action == BulkRequestAction.Action.REJECT) {
+            int rejected = requestRepository.transitionStatuses(ids, StationUpdateRequest.RequestStatus.PENDING,
+                    StationUpdateRequest.RequestStatus.REJECTED);
+            return new BulkActionResponse(rejected + " istek reddedildi.", 0, rejected, requestIds.size() - rejected);
+        }
+
+        // Newest first, so the first request applied to a station is its newest one
+        List<StationUpdateRequest> pending = requestRepository.findAllById(ids).stream()
+                .filter(request -> request.getStatus() == StationUpdateRequest.RequestStatus.PENDING)
+                .sorted(Comparator.comparing(StationUpdateRequest::getCreatedAt).reversed())
+                .collect(Collectors.toList());
+        int skipped = requestIds.size() - pending.size();
+
+        int approved = 0;
+        int rejected = 0;
+        Set<String> settledStations = new HashSet<>();
+        for (StationUpdateRequest request : pending) {
+            if (settledStations.contains(request.getStationId())) {
+                // Superseded by a newer request, or the station is gone
+                if (claim(request, StationUpdateRequest.RequestStatus.REJECTED)) rejected++;
+                else skipped++;
+                continue;
+            }
+            if (!claim(request, StationUpdateRequest.RequestStatus.APPROVED)) {
+                skipped++; // Another admin got there first; an older request may still apply
+                continue;
+            }
+
+            AvailabilityUpdate update = applyAvailabilityUpdate(request.getStationId(), request.getRequestedAvailable(), null);
+            if (update.status() == AvailabilityUpdateStatus.UPDATED) {
+                approved++;
+                settledStations.add(request.getStationId());
+            } else {
+                requestRepository.transitionStatus(request.getId(), StationUpdateRequest.RequestStatus.APPROVED,
+                        StationUpdateRequest.RequestStatus.REJECTED);
+                rejected++;
+                if (update.status() == AvailabilityUpdateStatus.NOT_FOUND) {
+                    settledStations.add(request.getStationId());
+                }
+            }
+        }
+
+        return new BulkActionResponse(approved + " istek onaylandı, " + rejected + " istek reddedildi.", approved, rejected, skipped);
+    }
+
+    private boolean claim(StationUpdateRequest request, StationUpdateRequest.RequestStatus to) {
+        return requestRepository.transitionStatus(request.getId(), StationUpdateRequest.RequestStatus.PENDING, to) > 0;
+    }
+
+    /**
+     * Write-behind target of CrowdReportAggregator: applies consensus values and stores
+     * reports that need an admin, all in one transaction.
+     */
+    @org.springframework.transaction.annotation.Transactional
+    public void applyCrowdConsensus(Map<String, Integer> availableByStation, List<StationUpdateRequest> forReview) {
+        List<Station> changed = new java.util.ArrayList<>();
+        for (Station station : stationRepository.findAllById(availableByStation.keySet())) {
+            int available = Math.min(availableByStation.get(station.getId()), station.getCapacity());
+            if (station.getAvailable() != available) {
+                applyAvailability(station, available);
+                changed.add(station);
+            }
+        }
+
+        stationRepository.saveAll(changed);
+        outboxRepository.saveAll(changed.stream().map(station -> new StationOutboxEvent(station.getId())).toList());
+        requestRepository.saveAll(forReview);
+    }
+
+    // Returns the number of stations whose status had to be corrected
+    @org.springframework.transaction.annotation.Transactional
+    public int reconcileStationStatuses() {
+        return stationRepository.reconcileStatuses();
+    }
+
+    /**
+     * Sets availability (and the derived status) with a single UPDATE, in its own transaction.
+     * With expectedVersion the write only succeeds if nobody changed the station since the
+     * caller read it (VERSION_CONFLICT otherwise); without it the value is applied atomically.
+     * Transient lock/serialization failures are retried a few times with a short backoff.
+     */
+    public AvailabilityUpdate updateAvailability(String stationId, int available, Long expectedVersion) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyAvailabilityUpdate(stationId, available, expectedVersion));
+            } catch (org.springframework.dao.PessimisticLockingFailureException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(java.util.concurrent.ThreadLocalRandom.current().nextLong(5, 20L * attempt));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Must run inside a transaction; the outbox event commits with the update
+    private AvailabilityUpdate applyAvailabilityUpdate(String stationId, int available, Long expectedVersion) {
+        org.springframework.jdbc.core.namedparam.MapSqlParameterSource params = new org.springframework.jdbc.core.namedparam.MapSqlParameterSource()
+                .addValue("id", stationId)
+                .addValue("available", available)
+                .addValue("expectedVersion", expectedVersion, java.sql.Types.BIGINT)
+                .addValue("now", java.time.LocalDateTime.now());
+        List<Long> versions = namedJdbcTemplate.queryForList(UPDATE_AVAILABILITY_SQL, params, Long.class);
+        if (!versions.isEmpty()) {
+            // Written behind Hibernate's back, so its cached copy is stale
+            entityCacheService.evictStationAfterCommit(stationId);
+            outboxRepository.save(new StationOutboxEvent(stationId));
+            return new AvailabilityUpdate(AvailabilityUpdateStatus.UPDATED, versions.get(0));
+        }
+
+        // Nothing updated: find out why (only on the failure path)
+        List<long[]> rows = namedJdbcTemplate.query("SELECT capacity, version FROM stations WHERE id = :id", params,
+                (rs, rowNum) -> new long[] { rs.getLong("capacity"), rs.getLong("version") });
+        if (rows.isEmpty()) {
+            return new AvailabilityUpdate(AvailabilityUpdateStatus.NOT_FOUND, 0);
+        }
+        if (available > rows.get(0)[0]) {
+            return new AvailabilityUpdate(AvailabilityUpdateStatus.OVER_CAPACITY, rows.get(0)[1]);
+        }
+        return new AvailabilityUpdate(AvailabilityUpdateStatus.VERSION_CONFLICT, rows.get(0)[1]);
+    }
+
+    private void applyAvailability(Station station, int available) {
+        station.setAvailable(available);
+        station.setStatus(StationStatus.forAvailability(station.getType(), available));
+    }
 }
@@ -0,0 +1,132 @@
+package com.stationflow.backend.service;
+
+import com.stationflow.backend.model.Station;
+import com.stationflow.backend.repository.StationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Radius, bounding box and nearest-station searches.
+ *
+ * With stationflow.postgis.enabled the queries run in Postgres against the geography
+ * column and its GiST index. Otherwise a lat/lng range query narrows the candidates and
+ * distances are computed here (haversine), which gives the same results on databases
+ * without PostGIS. Every search returns at most stationflow.spatial.max-results stations,
+ * nearest first (to the centre, for boxes), and the limit is applied in the query.
+ */
+@Service
+@org.springframework.transaction.annotation.Transactional(readOnly = true)
+public class StationSpatialService {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+    private static final double FALLBACK_KNN_START_METERS = 1000;
+
+    @Value("${stationflow.postgis.enabled:false}")
+    private boolean postgis;
+
+    @Value("${stationflow.spatial.max-radius-meters:50000}")
+    private double maxRadiusMeters;
+
+    @Value("${stationflow.spatial.max-results:100}")
+    private int maxResults;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    public List<Station> findWithinRadius(double lat, double lng, double meters) {
+        checkPoint(lat, lng);
+        if (meters <= 0 || meters > maxRadiusMeters) {
+            throw new IllegalArgumentException("Yarıçap 0 ile " + (long) maxRadiusMeters + " metre arasında olmalıdır");
+        }
+        if (postgis) {
+            return stationRepository.findWithinRadius(lat, lng, meters, maxResults);
+        }
+        double dLat = meters / METERS_PER_DEGREE_LAT;
+        double dLng = Math.min(180, meters / (METERS_PER_DEGREE_LAT * Math.max(1e-6, Math.cos(Math.toRadians(lat)))));
+        return nearestInRange(lat - dLat, lat + dLat, lng - dLng, lng + dLng, lat, lng).stream()
+                .filter(station -> distanceMeters(lat, lng, station) <= meters)
+                .sorted(byDistanceFrom(lat, lng))
+                .toList();
+    }
+
+    public List<Station> findInBoundingBox(double minLat, double minLng, double maxLat, double maxLng) {
+        checkPoint(minLat, minLng);
+        checkPoint(maxLat, maxLng);
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("Geçersiz sınır kutusu");
+        }
+        if (postgis) {
+            return stationRepository.findInBoundingBox(minLat, minLng, maxLat, maxLng, maxResults);
+        }
+        double centerLat = (minLat + maxLat) / 2;
+        double centerLng = (minLng + maxLng) / 2;
+        return nearestInRange(minLat, maxLat, minLng, maxLng, centerLat, centerLng).stream()
+                .sorted(byDistanceFrom(centerLat, centerLng))
+                .toList();
+    }
+
+    public List<Station> findNearest(double lat, double lng, int limit) {
+        checkPoint(lat, lng);
+        int k = Math.max(1, Math.min(limit, maxResults));
+        if (postgis) {
+            return stationRepository.findNearest(lat, lng, k);
+        }
+        // Widen the search box until it holds k stations, then take the k closest inside the
+        // inscribed circle; anything outside it could be beaten by a station outside the box
+        for (double meters = FALLBACK_KNN_START_METERS; ; meters *= 4) {
+            double radius = meters;
+            List<Station> candidates = candidatesAround(lat, lng, radius);
+            boolean wholeWorld = radius >= Math.PI * EARTH_RADIUS_METERS;
+            List<Station> inside = wholeWorld ? candidates : candidates.stream()
+                    .filter(station -> distanceMeters(lat, lng, station) <= radius)
+                    .toList();
+            if (inside.size() >= k || wholeWorld) {
+                return inside.stream().sorted(byDistanceFrom(lat, lng)).limit(k).toList();
+            }
+        }
+    }
+
+    private List<Station> candidatesAround(double lat, double lng, double meters) {
+        double dLat = meters / METERS_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double dLng = cosLat < 1e-6 ? 180 : meters / (METERS_PER_DEGREE_LAT * cosLat);
+        if (dLng >= 180 || lat - dLat <= -90 || lat + dLat >= 90) {
+            return stationRepository.findAll();
+        }
+        // Boxes crossing the antimeridian are not split; stations there are out of scope
+        return stationRepository.findByLocationLatBetweenAndLocationLngBetween(lat - dLat, lat + dLat, lng - dLng, lng + dLng);
+    }
+
+    // The maxResults stations of the range closest to the point; the query orders by a flat
+    // approximation, callers re-sort by haversine
+    private List<Station> nearestInRange(double minLat, double maxLat, double minLng, double maxLng, double lat, double lng) {
+        double cosLat = Math.cos(Math.toRadians(lat));
+        return stationRepository.findInRangeNearestFirst(minLat, maxLat, minLng, maxLng, lat, lng, cosLat * cosLat,
+                org.springframework.data.domain.PageRequest.of(0, maxResults));
+    }
+
+    private static Comparator<Station> byDistanceFrom(double lat, double lng) {
+        return Comparator.comparingDouble(station -> distanceMeters(lat, lng, station));
+    }
+
+    private static double distanceMeters(double lat, double lng, Station station) {
+        double phi1 = Math.toRadians(lat);
+        double phi2 = Math.toRadians(station.getLocation().getLat());
+        double dPhi = phi2 - phi1;
+        double dLambda = Math.toRadians(station.getLocation().getLng() - lng);
+        double a = Math.sin(dPhi / 2) * Math.sin(dPhi / 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.sin(dLambda / 2) * Math.sin(dLambda / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static void checkPoint(double lat, double lng) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("Geçersiz koordinat");
+        }
+    }
+}
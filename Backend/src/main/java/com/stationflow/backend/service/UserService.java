@@ -1,6 +1,8 @@
 package com.stationflow.backend.service;
 
 import com.stationflow.backend.model.User;
+import com.stationflow.backend.payload.request.PageCursor;
+import com.stationflow.backend.payload.response.CursorPage;
 import com.stationflow.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -17,15 +19,27 @@ public class UserService {
     @Autowired
     private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private com.stationflow.backend.config.PaginationConfig paginationConfig;
+
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public CursorPage<User> getUsersPage(PageCursor after, Integer size) {
+        int pageSize = paginationConfig.pageSize(size);
+        List<User> rows = userRepository.findPageAfter(after.getCreatedAt(), after.getId(), paginationConfig.keysetLimit(pageSize));
+        return CursorPage.of(rows, pageSize, User::getCreatedAt, User::getId);
+    }
+
     public User createUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         return userRepository.save(user);
     }
 
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public Optional<User> getUserById(String id) {
         return userRepository.findById(id);
     }
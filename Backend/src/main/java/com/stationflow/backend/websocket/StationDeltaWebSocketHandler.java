@@ -0,0 +1,205 @@
+package com.stationflow.backend.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stationflow.backend.model.Station;
+import com.stationflow.backend.model.TransportType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes station changes as compact binary frames.
+ *
+ * Each frame holds one or more 9-byte records (big-endian):
+ * int32 station index, int32 available, int8 StationStatus ordinal.
+ * Station indexes are announced as text frames: {"type":"index","epoch":"..","full":bool,"entries":{id:index}}.
+ * The first frame on a connection is the full table (every station); later ones add the
+ * stations that appeared since. A client keeps the epoch and, when a reconnect brings a
+ * different one, replaces its table and re-sends subscriptions by index (see StationIndexRegistry).
+ *
+ * Clients may send text frames on the same connection:
+ * {"action":"subscribe","types":["bus","metro"],"stations":[3,7]} - empty lists mean everything,
+ * {"action":"pause"} / {"action":"resume"} - backpressure; a resumed client gets {"type":"resync"}
+ * and should refetch the station list because frames were skipped while paused.
+ */
+@Component
+public class StationDeltaWebSocketHandler extends AbstractWebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StationDeltaWebSocketHandler.class);
+
+    static final int RECORD_SIZE = 9;
+    private static final int SEND_TIME_LIMIT_MS = 5000;
+    private static final int BUFFER_SIZE_LIMIT = 64 * 1024;
+
+    @Autowired
+    private StationIndexRegistry indexRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, ClientSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        ClientSession client = new ClientSession(
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, BUFFER_SIZE_LIMIT));
+        // The full table goes out before the session gets broadcasts, so this large frame is
+        // never queued behind one (and over the buffer limit)
+        StationIndexRegistry.Snapshot table = indexRegistry.snapshotFrom(0);
+        sendIndexEntries(client, table, true);
+        sessions.put(session.getId(), client);
+
+        // Stations indexed while the table was on its way
+        StationIndexRegistry.Snapshot added = indexRegistry.snapshotFrom(table.size());
+        if (!added.entries().isEmpty()) {
+            sendIndexEntries(client, added, false);
+        }
+    }
+
+    // First fill after the initializers have added their stations, then catch up periodically
+    @org.springframework.context.event.EventListener(org.springframework.boot.context.event.ApplicationReadyEvent.class)
+    @org.springframework.scheduling.annotation.Scheduled(initialDelayString = "${stationflow.websocket.index-sync-ms:300000}",
+            fixedDelayString = "${stationflow.websocket.index-sync-ms:300000}")
+    public void syncIndex() {
+        StationIndexRegistry.Snapshot added = indexRegistry.sync();
+        if (!added.entries().isEmpty()) {
+            for (ClientSession client : sessions.values()) {
+                sendIndexEntries(client, added, false);
+            }
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        sessions.remove(session.getId());
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        sessions.remove(session.getId());
+        logger.debug("WebSocket transport error, removing session: {}", exception.getMessage());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        ClientSession client = sessions.get(session.getId());
+        if (client == null) {
+            return;
+        }
+
+        JsonNode command = objectMapper.readTree(message.getPayload());
+        switch (command.path("action").asText()) {
+            case "subscribe" -> {
+                Set<TransportType> types = ConcurrentHashMap.newKeySet();
+                for (JsonNode type : command.path("types")) {
+                    for (TransportType candidate : TransportType.values()) {
+                        if (candidate.getValue().equalsIgnoreCase(type.asText())) {
+                            types.add(candidate);
+                        }
+                    }
+                }
+                Set<Integer> stations = ConcurrentHashMap.newKeySet();
+                command.path("stations").forEach(index -> stations.add(index.asInt()));
+                client.types = types;
+                client.stations = stations;
+            }
+            case "pause" -> client.paused = true;
+            case "resume" -> {
+                if (client.paused) {
+                    client.paused = false;
+                    send(client, new TextMessage("{\"type\":\"resync\"}"));
+                }
+            }
+            default -> logger.debug("Ignoring unknown WebSocket command: {}", message.getPayload());
+        }
+    }
+
+    public void broadcast(Collection<Station> stations) {
+        if (stations.isEmpty()) {
+            return;
+        }
+        // Indexed even with nobody connected, so the table sent on connect has new stations
+        StationIndexRegistry.Snapshot newEntries = indexRegistry.register(stations);
+        if (sessions.isEmpty()) {
+            return;
+        }
+
+        List<int[]> records = new ArrayList<>(stations.size());
+        for (Station station : stations) {
+            records.add(new int[] { indexRegistry.find(station.getId()), station.getAvailable(), station.getStatus().ordinal() });
+        }
+
+        for (ClientSession client : sessions.values()) {
+            if (!newEntries.entries().isEmpty()) {
+                sendIndexEntries(client, newEntries, false);
+            }
+            if (client.paused) {
+                continue;
+            }
+
+            ByteBuffer frame = ByteBuffer.allocate(records.size() * RECORD_SIZE);
+            for (int[] record : records) {
+                if (client.accepts(record[0], indexRegistry.typeOf(record[0]))) {
+                    frame.putInt(record[0]).putInt(record[1]).put((byte) record[2]);
+                }
+            }
+            if (frame.position() > 0) {
+                frame.flip();
+                send(client, new BinaryMessage(frame));
+            }
+        }
+    }
+
+    private void sendIndexEntries(ClientSession client, StationIndexRegistry.Snapshot snapshot, boolean full) {
+        try {
+            String json = objectMapper.writeValueAsString(Map.of("type", "index", "epoch", snapshot.epoch(),
+                    "full", full, "entries", snapshot.entries()));
+            send(client, new TextMessage(json));
+        } catch (Exception e) {
+            logger.debug("Failed to encode station index entries: {}", e.getMessage());
+        }
+    }
+
+    private void send(ClientSession client, org.springframework.web.socket.WebSocketMessage<?> message) {
+        try {
+            client.session.sendMessage(message);
+        } catch (Exception e) {
+            sessions.remove(client.session.getId());
+            logger.debug("Failed to send WebSocket frame, removing session: {}", e.getMessage());
+        }
+    }
+
+    private static class ClientSession {
+        final WebSocketSession session;
+        volatile Set<TransportType> types = Set.of();
+        volatile Set<Integer> stations = Set.of();
+        volatile boolean paused;
+
+        ClientSession(WebSocketSession session) {
+            this.session = session;
+        }
+
+        boolean accepts(int index, TransportType type) {
+            if (!stations.isEmpty() && !stations.contains(index)) {
+                return false;
+            }
+            return types.isEmpty() || types.contains(type);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.stationflow.backend.websocket;
+
+import com.stationflow.backend.model.Station;
+import com.stationflow.backend.model.TransportType;
+import com.stationflow.backend.repository.StationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns small integer indexes to station ids so binary frames can reference a station
+ * with 4 bytes instead of a 36-character UUID.
+ *
+ * The table holds every station: it is filled from the stations table once the app is
+ * ready (ordered by id) and synced again on a schedule, because stations are created by
+ * several paths that do not broadcast; stations first seen in a broadcast are appended too.
+ *
+ * The epoch is a hash of the ids in index order, so instances that built the same table
+ * report the same epoch. A client compares it after a reconnect: a different epoch means
+ * its indexes (and subscriptions by index) must be rebuilt from the table sent on connect.
+ */
+@Component
+public class StationIndexRegistry {
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    private final Map<String, Integer> indexById = new ConcurrentHashMap<>();
+    private final Map<Integer, TransportType> typeByIndex = new ConcurrentHashMap<>();
+
+    // Guarded by this; ids.get(index) is the station id of that index
+    private final List<String> ids = new ArrayList<>();
+    private long epoch;
+
+    public record Snapshot(String epoch, int size, Map<String, Integer> entries) {
+    }
+
+    /**
+     * Appends the stations in the table that have no index yet, in id order, and returns
+     * them. The query runs outside the lock so broadcasts are not held up by it.
+     */
+    public Snapshot sync() {
+        List<Object[]> rows = stationRepository.findIdsAndTypesOrderById();
+        synchronized (this) {
+            int from = ids.size();
+            for (Object[] row : rows) {
+                if (!indexById.containsKey((String) row[0])) {
+                    add((String) row[0], (TransportType) row[1]);
+                }
+            }
+            return snapshotFrom(from);
+        }
+    }
+
+    public Integer find(String stationId) {
+        return indexById.get(stationId);
+    }
+
+    public TransportType typeOf(int index) {
+        return typeByIndex.get(index);
+    }
+
+    /**
+     * Indexes the given stations and returns the entries that were new, with the epoch
+     * after adding them.
+     */
+    public synchronized Snapshot register(Collection<Station> stations) {
+        int from = ids.size();
+        for (Station station : stations) {
+            Integer index = indexById.get(station.getId());
+            if (index == null) {
+                add(station.getId(), station.getType());
+            } else if (station.getType() != null) {
+                typeByIndex.put(index, station.getType());
+            }
+        }
+        return snapshotFrom(from);
+    }
+
+    // Entries with an index of at least from; 0 gives the whole table
+    public synchronized Snapshot snapshotFrom(int from) {
+        Map<String, Integer> entries = new LinkedHashMap<>();
+        for (int index = from; index < ids.size(); index++) {
+            entries.put(ids.get(index), index);
+        }
+        return new Snapshot(Long.toHexString(epoch), ids.size(), entries);
+    }
+
+    private synchronized void add(String stationId, TransportType type) {
+        int index = ids.size();
+        ids.add(stationId);
+        indexById.put(stationId, index);
+        if (type != null) {
+            typeByIndex.put(index, type);
+        }
+        epoch = mix(epoch + stationId.hashCode());
+    }
+
+    // SplitMix64 finalizer; String.hashCode is the same on every JVM
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,58 @@
+-- Baseline schema, matching what Hibernate's ddl-auto=update used to create.
+-- Every statement is idempotent so it also runs cleanly on databases that were
+-- created by Hibernate before migrations existed (baseline-version=0).
+
+CREATE TABLE IF NOT EXISTS stations (
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    name VARCHAR(255),
+    type VARCHAR(255) NOT NULL,
+    lat DOUBLE PRECISION,
+    lng DOUBLE PRECISION,
+    capacity INTEGER NOT NULL CHECK (capacity >= 0),
+    available INTEGER NOT NULL CHECK (available >= 0),
+    status VARCHAR(255) NOT NULL,
+    last_update TIMESTAMP(6),
+    is_custom BOOLEAN NOT NULL,
+    owner_id VARCHAR(255),
+    version BIGINT DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    username VARCHAR(255),
+    email VARCHAR(50) UNIQUE,
+    password VARCHAR(255),
+    role VARCHAR(255),
+    token_epoch INTEGER DEFAULT 0,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS station_update_requests (
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    station_id VARCHAR(255) NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    requested_available INTEGER NOT NULL CHECK (requested_available >= 0),
+    status VARCHAR(255),
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS feedback (
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    message TEXT,
+    email VARCHAR(255),
+    ip_address VARCHAR(255),
+    created_at TIMESTAMP(6)
+);
+
+CREATE SEQUENCE IF NOT EXISTS station_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS station_outbox (
+    id BIGINT NOT NULL PRIMARY KEY,
+    station_id VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6)
+);
+
+-- Columns added by ddl-auto=update on databases older than the tables above
+ALTER TABLE stations ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_epoch INTEGER DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP;
@@ -0,0 +1,4 @@
+-- Hibernate-generated enum CHECK constraints break every time a TransportType or
+-- StationStatus value is added. DataSeeder used to drop them on each boot.
+ALTER TABLE stations DROP CONSTRAINT IF EXISTS stations_type_check;
+ALTER TABLE stations DROP CONSTRAINT IF EXISTS stations_status_check;
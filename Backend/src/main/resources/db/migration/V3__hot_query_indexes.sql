@@ -0,0 +1,23 @@
+-- Indexes for the predicates used by the repositories. SchemaIndexVerifier refuses
+-- to start the application when one of them is missing.
+
+-- StationRepository.deleteByTypeAndIsCustomFalse
+CREATE INDEX IF NOT EXISTS idx_stations_type_is_custom ON stations (type, is_custom);
+-- StationRepository.existsByLocationLatAndLocationLng (import duplicate check)
+CREATE INDEX IF NOT EXISTS idx_stations_lat_lng ON stations (lat, lng);
+-- StationRepository.findByOwnerId
+CREATE INDEX IF NOT EXISTS idx_stations_owner_id ON stations (owner_id);
+
+-- findByStatus / findDtosByStatus (pending queue, keyset on created_at, id)
+CREATE INDEX IF NOT EXISTS idx_update_requests_status_created_at_id ON station_update_requests (status, created_at, id);
+-- findDtosByUserId / reporter history (keyset on created_at, id)
+CREATE INDEX IF NOT EXISTS idx_update_requests_user_created_at_id ON station_update_requests (user_id, created_at, id);
+-- StationUpdateRequestRepository.findByStationIdAndStatus
+CREATE INDEX IF NOT EXISTS idx_update_requests_station_status ON station_update_requests (station_id, status);
+
+-- FeedbackRepository.findPageAfter
+CREATE INDEX IF NOT EXISTS idx_feedback_created_at_id ON feedback (created_at, id);
+
+-- UserRepository.findByUsername (every login) and findPageAfter
+CREATE INDEX IF NOT EXISTS idx_users_username ON users (username);
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
@@ -0,0 +1,26 @@
+-- Optional PostGIS support, applied only with stationflow.postgis.enabled=true.
+-- Repeatable and idempotent: Flyway reruns it whenever this file changes.
+
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+-- Not mapped by JPA; kept in sync with the embedded Location (lat/lng) by the trigger below
+ALTER TABLE stations ADD COLUMN IF NOT EXISTS geog geography(Point, 4326);
+
+CREATE OR REPLACE FUNCTION stations_sync_geog() RETURNS trigger AS $$
+BEGIN
+    NEW.geog := CAST(ST_SetSRID(ST_MakePoint(NEW.lng, NEW.lat), 4326) AS geography);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_stations_sync_geog ON stations;
+CREATE TRIGGER trg_stations_sync_geog
+    BEFORE INSERT OR UPDATE OF lat, lng ON stations
+    FOR EACH ROW EXECUTE FUNCTION stations_sync_geog();
+
+UPDATE stations
+SET geog = CAST(ST_SetSRID(ST_MakePoint(lng, lat), 4326) AS geography)
+WHERE geog IS NULL
+   OR NOT ST_Equals(CAST(geog AS geometry), ST_SetSRID(ST_MakePoint(lng, lat), 4326));
+
+CREATE INDEX IF NOT EXISTS idx_stations_geog ON stations USING GIST (geog);
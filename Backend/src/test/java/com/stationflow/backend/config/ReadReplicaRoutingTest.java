@@ -0,0 +1,100 @@
+package com.stationflow.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The replica is the same H2 database opened as a user that may only SELECT, so a write
+ * that ends up on a replica connection fails like it would on a Postgres standby.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.URL + ";DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:h2-postgres-functions.sql'",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        // requestUpdate must load the station from the database, not from the second-level cache
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "stationflow.datasource.replicas.enabled=true",
+        "stationflow.datasource.replicas.urls=" + ReadReplicaRoutingTest.URL,
+        "stationflow.datasource.replicas.username=reader",
+        "stationflow.datasource.replicas.password=reader",
+        "stationflow.datasource.replicas.lag-query=SELECT 0"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    // The replica URL cannot carry DB_CLOSE_DELAY or INIT, both need admin rights
+    static final String URL = "jdbc:h2:mem:replicas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void createReadOnlyUser() throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL + ";DB_CLOSE_DELAY=-1", "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE USER IF NOT EXISTS reader PASSWORD 'reader'");
+            statement.execute("GRANT SELECT ON SCHEMA public TO reader");
+        }
+    }
+
+    @Test
+    void writeAfterReadInOneRequestRunsOnThePrimary() throws Exception {
+        String token = signIn();
+        String stationId = jdbcTemplate.queryForObject("SELECT id FROM stations ORDER BY id LIMIT 1", String.class);
+        double fallbacksBefore = primaryFallbacks();
+
+        // Reads the station (read-only, replica), then inserts the request (primary)
+        mockMvc.perform(post("/api/stations/" + stationId + "/request-update")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\": 1}"))
+                .andExpect(status().isOk());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM station_update_requests WHERE station_id = ?",
+                Integer.class, stationId)).isEqualTo(1);
+        // The read really went to the replica
+        assertThat(primaryFallbacks()).isEqualTo(fallbacksBefore);
+    }
+
+    private String signIn() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"adminmemo\", \"password\": \"can123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.get("token").asText();
+    }
+
+    private double primaryFallbacks() {
+        return meterRegistry.counter("stationflow.datasource.read.primary.fallbacks").count();
+    }
+}
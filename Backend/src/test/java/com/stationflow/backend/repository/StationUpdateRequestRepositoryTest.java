@@ -0,0 +1,111 @@
+package com.stationflow.backend.repository;
+
+import com.stationflow.backend.model.Location;
+import com.stationflow.backend.model.Role;
+import com.stationflow.backend.model.Station;
+import com.stationflow.backend.model.StationStatus;
+import com.stationflow.backend.model.StationUpdateRequest;
+import com.stationflow.backend.model.TransportType;
+import com.stationflow.backend.model.User;
+import com.stationflow.backend.payload.request.PageCursor;
+import com.stationflow.backend.payload.response.StationUpdateRequestDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The request listings join station and user names in the query itself, so a page must be
+ * one statement however many rows and distinct stations/users it holds.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:requests;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        // DTO projections never touch the second-level cache
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StationUpdateRequestRepositoryTest {
+
+    private static final int STATIONS = 5;
+    private static final int USERS = 4;
+
+    @Autowired
+    private StationUpdateRequestRepository requestRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<String> userIds;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<String> stationIds = new ArrayList<>();
+        for (int s = 0; s < STATIONS; s++) {
+            stationIds.add(entityManager.persistAndGetId(new Station(null, "Durak " + s, TransportType.BUS,
+                    new Location(41.0, 29.0 + s), 20, 10, StationStatus.ACTIVE, now, false, null), String.class));
+        }
+        userIds = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            userIds.add(entityManager.persistAndGetId(new User(null, "kullanici" + u, "user" + u + "@example.com", "x", Role.USER),
+                    String.class));
+        }
+        for (int i = 0; i < STATIONS * USERS; i++) {
+            StationUpdateRequest request = new StationUpdateRequest(stationIds.get(i % STATIONS), userIds.get(i % USERS), i);
+            request.setCreatedAt(now.minusMinutes(i));
+            entityManager.persist(request);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void findDtosByStatusRunsOneStatement() {
+        List<StationUpdateRequestDto> page = requestRepository.findDtosByStatus(StationUpdateRequest.RequestStatus.PENDING,
+                PageCursor.FIRST.getCreatedAt(), PageCursor.FIRST.getId(), PageRequest.of(0, 50));
+
+        assertThat(page).hasSize(STATIONS * USERS);
+        assertThat(page).allSatisfy(dto -> {
+            assertThat(dto.getStationName()).startsWith("Durak ");
+            assertThat(dto.getUsername()).startsWith("kullanici");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findDtosByUserIdRunsOneStatement() {
+        List<StationUpdateRequestDto> page = requestRepository.findDtosByUserId(userIds.get(1),
+                PageCursor.FIRST.getCreatedAt(), PageCursor.FIRST.getId(), PageRequest.of(0, 50));
+
+        assertThat(page).hasSize(STATIONS);
+        assertThat(page).allSatisfy(dto -> {
+            assertThat(dto.getUsername()).isEqualTo("kullanici1");
+            assertThat(dto.getStationName()).startsWith("Durak ");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
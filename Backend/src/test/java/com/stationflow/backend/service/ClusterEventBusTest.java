@@ -0,0 +1,139 @@
+package com.stationflow.backend.service;
+
+import com.stationflow.backend.StationflowApplication;
+import com.stationflow.backend.model.Location;
+import com.stationflow.backend.model.Station;
+import com.stationflow.backend.model.StationStatus;
+import com.stationflow.backend.model.TransportType;
+import com.stationflow.backend.repository.StationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application contexts against one Postgres, as two instances behind a load balancer.
+ * Needs a real Postgres (LISTEN/NOTIFY), so it only runs when STATIONFLOW_TEST_DB_URL is set,
+ * e.g. jdbc:postgresql://localhost:5432/stationflowdb.
+ */
+@EnabledIfEnvironmentVariable(named = "STATIONFLOW_TEST_DB_URL", matches = ".+")
+class ClusterEventBusTest {
+
+    // Own channel so instances running against the same database are not disturbed
+    private static final String CHANNEL = "stationflow_events_test_" + UUID.randomUUID().toString().replace("-", "");
+
+    private static ConfigurableApplicationContext instanceA;
+    private static ConfigurableApplicationContext instanceB;
+
+    private static final CountDownLatch remoteEventOnB = new CountDownLatch(1);
+    private static final CountDownLatch resyncOnB = new CountDownLatch(1);
+
+    private static String stationId;
+
+    @BeforeAll
+    static void startInstances() {
+        instanceA = start();
+        instanceB = start();
+        ClusterEventBus busB = instanceB.getBean(ClusterEventBus.class);
+        busB.onRemoteEvent(ClusterEventBus.STATION_KIND, ids -> {
+            if (ids.contains(stationId)) {
+                remoteEventOnB.countDown();
+            }
+        });
+        busB.onReconnect(resyncOnB::countDown);
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (stationId != null) {
+            instanceA.getBean(StationRepository.class).deleteById(stationId);
+        }
+        if (instanceB != null) {
+            instanceB.close();
+        }
+        if (instanceA != null) {
+            instanceA.close();
+        }
+    }
+
+    @Test
+    void changeOnOneInstanceReachesTheOtherAndSurvivesAReconnect() throws Exception {
+        StationRepository stationsA = instanceA.getBean(StationRepository.class);
+        ClusterEventBus busA = instanceA.getBean(ClusterEventBus.class);
+        JdbcTemplate jdbcA = instanceA.getBean(JdbcTemplate.class);
+        assertThat(await(() -> listeners(jdbcA) == 2)).isTrue();
+
+        Station station = stationsA.save(new Station(null, "Cluster Test", TransportType.BUS, new Location(41.1, 29.1),
+                20, 10, StationStatus.ACTIVE, LocalDateTime.now(), true, null));
+        stationId = station.getId();
+        busA.publishStationChanges(List.of(station));
+
+        // B reloads the station from the primary, which also puts it in B's second-level cache
+        assertThat(remoteEventOnB.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(await(() -> cachedOn(instanceB))).isTrue();
+
+        // Drop both listeners and change the station while B is not listening: that NOTIFY is lost
+        jdbcA.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE query = ?", "LISTEN " + CHANNEL);
+        assertThat(await(() -> listeners(jdbcA) == 0)).isTrue();
+
+        station.setAvailable(7);
+        station = stationsA.save(station);
+        busA.publishStationChanges(List.of(station));
+
+        // Without the resync B would keep serving the cached 10
+        assertThat(resyncOnB.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(instanceB.getBean(StationRepository.class).findById(stationId))
+                .hasValueSatisfying(reloaded -> assertThat(reloaded.getAvailable()).isEqualTo(7));
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(StationflowApplication.class)
+                .properties(
+                        "spring.datasource.url=" + System.getenv("STATIONFLOW_TEST_DB_URL"),
+                        "spring.datasource.username=" + env("STATIONFLOW_TEST_DB_USERNAME", "postgres"),
+                        "spring.datasource.password=" + env("STATIONFLOW_TEST_DB_PASSWORD", "password"),
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "stationflow.cluster.enabled=true",
+                        "stationflow.cluster.channel=" + CHANNEL)
+                .run();
+    }
+
+    private static boolean cachedOn(ConfigurableApplicationContext instance) {
+        return instance.getBean(EntityManagerFactory.class).getCache().contains(Station.class, stationId);
+    }
+
+    private static int listeners(JdbcTemplate jdbc) {
+        Integer count = jdbc.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE query = ?", Integer.class, "LISTEN " + CHANNEL);
+        return count == null ? 0 : count;
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(100);
+        }
+        return true;
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
@@ -0,0 +1,3 @@
+-- Postgres functions the app calls outside of the migrations, as no-ops for H2 in PostgreSQL mode
+CREATE ALIAS IF NOT EXISTS pg_try_advisory_xact_lock AS 'boolean lock(long key) { return true; }';
+CREATE ALIAS IF NOT EXISTS pg_notify AS 'String notify(String c, String p) { return null; }';
@@ -6,7 +6,7 @@ import AddStationModal from './components/AddStationModal';
 import AdminDashboard from './components/AdminDashboard';
 import ReportStatusModal from './components/ReportStatusModal';
 import { Station, UserLocation, TransportType, Location } from './types';
-import { fetchStations, createStation, deleteStation, requestStationUpdate, fetchUpdateRequests, fetchFeedbacks } from './services/api';
+import { fetchStations, createStation, deleteStation, requestStationUpdate, fetchPendingRequestCount, fetchFeedbackCount } from './services/api';
 import { MapPin, Menu, XCircle, ShieldAlert, X, MessageSquare } from 'lucide-react';
 import FeedbackDashboard from './components/FeedbackDashboard';
 import { ThemeProvider } from './contexts/ThemeContext';
@@ -56,33 +56,22 @@ const AppContent: React.FC = () => {
     }
   }, [user]);
 
-  const checkFeedbackCount = async (count?: number) => {
+  // The lists are paged, so the badges ask the backend for the totals
+  const checkFeedbackCount = async () => {
     if (user?.role !== 'admin') return;
 
-    if (typeof count === 'number') {
-      setFeedbackCount(count);
-      return;
-    }
-
     try {
-      const feedbacks = await fetchFeedbacks();
-      setFeedbackCount(feedbacks.length);
+      setFeedbackCount(await fetchFeedbackCount());
     } catch (error) {
       console.error("Failed to fetch feedbacks", error);
     }
   };
 
-  const checkPendingRequests = async (count?: number) => {
+  const checkPendingRequests = async () => {
     if (user?.role !== 'admin') return;
 
-    if (typeof count === 'number') {
-      setPendingRequestsCount(count);
-      return;
-    }
-
     try {
-      const requests = await fetchUpdateRequests();
-      setPendingRequestsCount(requests.length);
+      setPendingRequestsCount(await fetchPendingRequestCount());
     } catch (error) {
       console.error("Failed to fetch update requests", error);
     }
@@ -142,6 +131,19 @@ const AppContent: React.FC = () => {
       }
     });
 
+    eventSource.addEventListener('station-diff', (event) => {
+      try {
+        const diffs: { id: string; version: number; changes: Partial<Station> }[] = JSON.parse(event.data);
+        const changesById = new Map(diffs.map(diff => [diff.id, diff.changes]));
+        setStations(prevStations =>
+          prevStations.map(s => changesById.has(s.id) ? { ...s, ...changesById.get(s.id) } : s)
+        );
+        setSelectedStation(prev => prev && changesById.has(prev.id) ? { ...prev, ...changesById.get(prev.id) } : prev);
+      } catch (error) {
+        console.error("Error parsing station diff:", error);
+      }
+    });
+
     eventSource.addEventListener('heartbeat', (event) => {
       // Heartbeat received, connection is alive
       console.debug("SSE Heartbeat received");
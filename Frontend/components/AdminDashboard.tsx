@@ -4,22 +4,24 @@ import { fetchUpdateRequests, approveUpdateRequest, rejectUpdateRequest } from '
 import { UpdateRequest } from '../types';
 
 interface AdminDashboardProps {
-    onActionComplete?: (count: number) => void;
+    onActionComplete?: () => void;
 }
 
 const AdminDashboard: React.FC<AdminDashboardProps> = ({ onActionComplete }) => {
     const [requests, setRequests] = useState<UpdateRequest[]>([]);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
 
     useEffect(() => {
         loadRequests();
     }, []);
 
-    const loadRequests = async () => {
+    const loadRequests = async (cursor?: string | null) => {
         try {
-            const data = await fetchUpdateRequests();
-            setRequests(data);
+            const data = await fetchUpdateRequests(cursor);
+            setRequests(prev => cursor ? [...prev, ...data.items] : data.items);
+            setNextCursor(data.nextCursor);
         } catch (err) {
             setError('İstekler yüklenirken hata oluştu');
         } finally {
@@ -31,16 +33,12 @@ const AdminDashboard: React.FC<AdminDashboardProps> = ({ onActionComplete }) =>
         try {
             await approveUpdateRequest(id);
 
-            // Calculate new state first
-            const updatedRequests = requests.filter(r => r.id !== id);
+            setRequests(prev => prev.filter(r => r.id !== id));
 
-            // Update parent state
+            // The parent refreshes its badge count
             if (onActionComplete) {
-                onActionComplete(updatedRequests.length);
+                onActionComplete();
             }
-
-            // Update local state
-            setRequests(updatedRequests);
         } catch (err) {
             alert('Onaylama başarısız');
         }
@@ -50,16 +48,12 @@ const AdminDashboard: React.FC<AdminDashboardProps> = ({ onActionComplete }) =>
         try {
             await rejectUpdateRequest(id);
 
-            // Calculate new state first
-            const updatedRequests = requests.filter(r => r.id !== id);
+            setRequests(prev => prev.filter(r => r.id !== id));
 
-            // Update parent state
+            // The parent refreshes its badge count
             if (onActionComplete) {
-                onActionComplete(updatedRequests.length);
+                onActionComplete();
             }
-
-            // Update local state
-            setRequests(updatedRequests);
         } catch (err) {
             alert('Reddetme başarısız');
         }
@@ -104,6 +98,14 @@ const AdminDashboard: React.FC<AdminDashboardProps> = ({ onActionComplete }) =>
                             </div>
                         </div>
                     ))}
+                    {nextCursor && (
+                        <button
+                            onClick={() => loadRequests(nextCursor)}
+                            className="w-full py-2 border rounded text-slate-600 hover:bg-slate-100 transition-colors"
+                        >
+                            Daha Fazla Yükle
+                        </button>
+                    )}
                 </div>
             )}
         </div>
@@ -1,6 +1,7 @@
 import React, { useState } from 'react';
 import { X, Lock, KeyRound } from 'lucide-react';
 import { changePassword } from '../services/api';
+import { useAuth } from '../contexts/AuthContext';
 
 interface ChangePasswordModalProps {
     onClose: () => void;
@@ -13,6 +14,7 @@ const ChangePasswordModal: React.FC<ChangePasswordModalProps> = ({ onClose }) =>
     const [loading, setLoading] = useState(false);
     const [error, setError] = useState<string | null>(null);
     const [success, setSuccess] = useState(false);
+    const { updateToken } = useAuth();
 
     const handleSubmit = async (e: React.FormEvent) => {
         e.preventDefault();
@@ -30,7 +32,10 @@ const ChangePasswordModal: React.FC<ChangePasswordModalProps> = ({ onClose }) =>
 
         setLoading(true);
         try {
-            await changePassword(currentPassword, newPassword);
+            const result = await changePassword(currentPassword, newPassword);
+            if (result.token) {
+                updateToken(result.token);
+            }
             setSuccess(true);
             setTimeout(() => {
                 onClose();
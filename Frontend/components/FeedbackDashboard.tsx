@@ -17,6 +17,7 @@ interface FeedbackDashboardProps {
 const FeedbackDashboard: React.FC<FeedbackDashboardProps> = ({ onClose }) => {
     const [feedbacks, setFeedbacks] = useState<Feedback[]>([]);
     const [isLoading, setIsLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const { user } = useAuth();
 
     useEffect(() => {
@@ -25,16 +26,18 @@ const FeedbackDashboard: React.FC<FeedbackDashboardProps> = ({ onClose }) => {
         }
     }, [user]);
 
-    const fetchFeedbacks = async () => {
+    const fetchFeedbacks = async (cursor?: string | null) => {
         try {
-            const response = await fetch(`${import.meta.env.VITE_API_URL || 'http://localhost:8080/api'}/feedback`, {
+            const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+            const response = await fetch(`${import.meta.env.VITE_API_URL || 'http://localhost:8080/api'}/feedback${query}`, {
                 headers: {
                     'Authorization': `Bearer ${user?.token}`
                 }
             });
             if (response.ok) {
                 const data = await response.json();
-                setFeedbacks(data);
+                setFeedbacks(prev => cursor ? [...prev, ...data.items] : data.items);
+                setNextCursor(data.nextCursor);
             }
         } catch (error) {
             console.error("Failed to fetch feedbacks", error);
@@ -123,6 +126,14 @@ const FeedbackDashboard: React.FC<FeedbackDashboardProps> = ({ onClose }) => {
                         </div>
                     ))
                 )}
+                {!isLoading && nextCursor && (
+                    <button
+                        onClick={() => fetchFeedbacks(nextCursor)}
+                        className="w-full py-2 text-sm text-purple-600 dark:text-purple-400 hover:bg-purple-50 dark:hover:bg-purple-900/20 rounded-lg transition-colors"
+                    >
+                        Daha Fazla Yükle
+                    </button>
+                )}
             </div>
         </div>
     );
@@ -12,6 +12,7 @@ interface UserProfileModalProps {
 const UserProfileModal: React.FC<UserProfileModalProps> = ({ user, onClose }) => {
     const [activeTab, setActiveTab] = useState<'profile' | 'history'>('profile');
     const [requests, setRequests] = useState<UpdateRequest[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const [loading, setLoading] = useState(false);
     const [showChangePasswordModal, setShowChangePasswordModal] = useState(false);
 
@@ -21,11 +22,12 @@ const UserProfileModal: React.FC<UserProfileModalProps> = ({ user, onClose }) =>
         }
     }, [activeTab]);
 
-    const loadHistory = async () => {
-        setLoading(true);
+    const loadHistory = async (cursor?: string | null) => {
+        if (!cursor) setLoading(true);
         try {
-            const data = await fetchMyUpdateRequests();
-            setRequests(data);
+            const data = await fetchMyUpdateRequests(cursor);
+            setRequests(prev => cursor ? [...prev, ...data.items] : data.items);
+            setNextCursor(data.nextCursor);
         } catch (error) {
             console.error("Failed to load history", error);
         } finally {
@@ -128,6 +130,14 @@ const UserProfileModal: React.FC<UserProfileModalProps> = ({ user, onClose }) =>
                                             </div>
                                         </div>
                                     ))}
+                                    {nextCursor && (
+                                        <button
+                                            onClick={() => loadHistory(nextCursor)}
+                                            className="w-full py-2 text-sm text-blue-600 hover:bg-blue-50 dark:hover:bg-blue-900/20 rounded-lg transition-colors"
+                                        >
+                                            Daha Fazla Yükle
+                                        </button>
+                                    )}
                                 </div>
                             )}
                         </div>
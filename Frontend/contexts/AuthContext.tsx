@@ -9,6 +9,7 @@ interface AuthContextType {
     login: (username: string, password: string) => Promise<void>;
     register: (username: string, email: string, password: string, recaptchaToken: string) => Promise<void>;
     logout: () => void;
+    updateToken: (token: string) => void;
 }
 
 const AuthContext = createContext<AuthContextType | undefined>(undefined);
@@ -48,6 +49,14 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
         }
     };
 
+    // Used when the backend re-issues the token (e.g. after a password change revokes the old ones)
+    const updateToken = (token: string) => {
+        if (!user) return;
+        const userData = { ...user, token };
+        setUser(userData);
+        localStorage.setItem('urbanmove_user_session', JSON.stringify(userData));
+    };
+
     const logout = () => {
         setUser(null);
         localStorage.removeItem('urbanmove_user_session');
@@ -60,7 +69,8 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
             isLoading,
             login,
             register,
-            logout
+            logout,
+            updateToken
         }}>
             {children}
         </AuthContext.Provider>
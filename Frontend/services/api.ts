@@ -1,4 +1,4 @@
-import { Station, User, TransportType, Location } from '../types';
+import { Station, User, TransportType, Location, UpdateRequest, CursorPage } from '../types';
 
 const API_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api';
 
@@ -132,8 +132,10 @@ export const requestStationUpdate = async (stationId: string, available: number)
     return response.json();
 };
 
-export const fetchUpdateRequests = async () => {
-    const response = await fetch(`${API_URL}/stations/requests`, {
+const cursorQuery = (cursor?: string | null) => cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+
+export const fetchUpdateRequests = async (cursor?: string | null): Promise<CursorPage<UpdateRequest>> => {
+    const response = await fetch(`${API_URL}/stations/requests${cursorQuery(cursor)}`, {
         headers: {
             ...getAuthHeader()
         }
@@ -145,8 +147,22 @@ export const fetchUpdateRequests = async () => {
     return response.json();
 };
 
-export const fetchMyUpdateRequests = async () => {
-    const response = await fetch(`${API_URL}/stations/my-requests`, {
+export const fetchPendingRequestCount = async (): Promise<number> => {
+    const response = await fetch(`${API_URL}/stations/requests/count`, {
+        headers: {
+            ...getAuthHeader()
+        }
+    });
+
+    if (!response.ok) {
+        throw new Error('İstek sayısı alınamadı');
+    }
+    const data = await response.json();
+    return data.count;
+};
+
+export const fetchMyUpdateRequests = async (cursor?: string | null): Promise<CursorPage<UpdateRequest>> => {
+    const response = await fetch(`${API_URL}/stations/my-requests${cursorQuery(cursor)}`, {
         headers: {
             ...getAuthHeader()
         }
@@ -221,8 +237,8 @@ export const submitFeedback = async (message: string, email?: string) => {
     return response.json();
 };
 
-export const fetchFeedbacks = async () => {
-    const response = await fetch(`${API_URL}/feedback`, {
+export const fetchFeedbacks = async (cursor?: string | null) => {
+    const response = await fetch(`${API_URL}/feedback${cursorQuery(cursor)}`, {
         headers: {
             ...getAuthHeader()
         }
@@ -233,3 +249,17 @@ export const fetchFeedbacks = async () => {
     }
     return response.json();
 };
+
+export const fetchFeedbackCount = async (): Promise<number> => {
+    const response = await fetch(`${API_URL}/feedback/count`, {
+        headers: {
+            ...getAuthHeader()
+        }
+    });
+
+    if (!response.ok) {
+        throw new Error('Geri bildirim sayısı alınamadı');
+    }
+    const data = await response.json();
+    return data.count;
+};
@@ -41,3 +41,9 @@ export interface UpdateRequest {
   status: 'PENDING' | 'APPROVED' | 'REJECTED';
   createdAt: string;
 }
+
+// Keyset-paginated listing; pass nextCursor back to get the following page
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+}